@@ -0,0 +1,101 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.ExceptionDeduplicator;
+import com.nexacloud.demoappinsights.util.telemetry.LatencyAggregator;
+import com.nexacloud.demoappinsights.util.telemetry.OverflowPolicy;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetrySampler;
+import lombok.experimental.UtilityClass;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shared fixtures for the benchmarks.
+ *
+ * @author Priyonuj Dey
+ */
+@UtilityClass
+public class BenchmarkData {
+
+    /**
+     * @return A valid product request
+     */
+    public ProductReq productReq() {
+        return new ProductReq("Smartphone XYZ", "Latest model with advanced camera features", 999.99);
+    }
+
+    /**
+     * Builds products with realistic field sizes and ascending IDs.
+     *
+     * @param count Number of products
+     * @return The products
+     */
+    public List<ProductModel> products(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductModel> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(new ProductModel((long) i, "Product " + i, "Description of product number " + i,
+                    10.0 + (i % 1000), now, now, 0L));
+        }
+        return products;
+    }
+
+    /**
+     * Starts a telemetry pipeline backed by a {@link NoOpTelemetryClient}. The caller must stop it.
+     *
+     * @return The started pipeline
+     */
+    public TelemetryPipeline startedPipeline() {
+        TelemetryPipeline pipeline = new TelemetryPipeline(new NoOpTelemetryClient(), 8192, 256, 200,
+                OverflowPolicy.DROP_OLDEST, 100);
+        pipeline.start();
+        return pipeline;
+    }
+
+    /**
+     * @param enabled Whether sampling is enabled
+     * @return A sampler with the default budget of 50 events per second
+     */
+    public TelemetrySampler sampler(boolean enabled) {
+        return new TelemetrySampler(new StandardEnvironment(), enabled, 50, 1000, 1000, Set.of());
+    }
+
+    /**
+     * @param pipeline A started pipeline
+     * @return A latency aggregator that is never flushed periodically
+     */
+    public LatencyAggregator latencyAggregator(TelemetryPipeline pipeline) {
+        return new LatencyAggregator(pipeline, 60_000, 0);
+    }
+
+    /**
+     * @param pipeline A started pipeline
+     * @return An exception deduplicator whose windows are never closed
+     */
+    public ExceptionDeduplicator exceptionDeduplicator(TelemetryPipeline pipeline) {
+        return new ExceptionDeduplicator(pipeline, 60_000);
+    }
+
+    /**
+     * @param pipeline A started pipeline
+     * @return A TelemetryUtil publishing every event to the pipeline (sampling disabled)
+     */
+    public TelemetryUtil telemetryUtil(TelemetryPipeline pipeline) {
+        return new TelemetryUtil(pipeline, sampler(false), latencyAggregator(pipeline), exceptionDeduplicator(pipeline));
+    }
+
+    /**
+     * @param pipeline A started pipeline
+     * @return A TelemetryUtil sampling events with the default budget
+     */
+    public TelemetryUtil sampledTelemetryUtil(TelemetryPipeline pipeline) {
+        return new TelemetryUtil(pipeline, sampler(true), latencyAggregator(pipeline), exceptionDeduplicator(pipeline));
+    }
+}
@@ -0,0 +1,77 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.nexacloud.demoappinsights.dto.response.ErrorRes;
+import com.nexacloud.demoappinsights.exception.GlobalExceptionHandler;
+import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
+import com.nexacloud.demoappinsights.exception.ValidationException;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning application exceptions into {@link ErrorRes} responses with the
+ * {@link GlobalExceptionHandler}, including creating the exception itself.
+ *
+ * <p>
+ * Business exceptions are created without a stack trace and repeats are only counted by the
+ * exception deduplicator; {@code unexpected} shows the cost of an exception with a stack trace.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private TelemetryPipeline pipeline;
+    private GlobalExceptionHandler handler;
+    private ResourceNotFoundException preallocated;
+
+    @Setup
+    public void setUp() {
+        pipeline = BenchmarkData.startedPipeline();
+        handler = new GlobalExceptionHandler(BenchmarkData.telemetryUtil(pipeline));
+        preallocated = new ResourceNotFoundException("Product", "42");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorRes> notFound() {
+        return handler.handleBaseAppInsightsException(new ResourceNotFoundException("Product", "42"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorRes> validation() {
+        return handler.handleBaseAppInsightsException(new ValidationException("after", "Invalid pagination cursor"));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorRes> notFoundPreallocated() {
+        return handler.handleBaseAppInsightsException(preallocated);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorRes> unexpected() {
+        return handler.handleGenericExceptions(new IllegalStateException("Unexpected failure"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.mapper.ProductMapper;
+import com.nexacloud.demoappinsights.util.ProductUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a ProductReq onto a ProductModel with ProductUtil and ProductMapper.
+ *
+ * @author Priyonuj Dey
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private ProductReq productReq;
+    private ProductModel existing;
+
+    @Setup
+    public void setUp() {
+        productReq = BenchmarkData.productReq();
+        existing = new ProductModel(1L, "Old name", "Old description", 1.0, LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+
+    @Benchmark
+    public ProductModel productUtilMapToProductModel() {
+        return ProductUtil.mapToProductModel(productReq);
+    }
+
+    @Benchmark
+    public ProductModel productUtilUpdateProductFields() {
+        ProductUtil.updateProductFields(existing, productReq);
+        return existing;
+    }
+
+    @Benchmark
+    public ProductModel productMapperToEntity() {
+        return productMapper.toEntity(productReq);
+    }
+
+    @Benchmark
+    public ProductModel productMapperUpdateEntityFromDto() {
+        return productMapper.updateEntityFromDto(existing, productReq);
+    }
+
+    @Benchmark
+    public String productUtilETag() {
+        return ProductUtil.eTag(existing);
+    }
+}
@@ -0,0 +1,34 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.TelemetryConfiguration;
+import com.microsoft.applicationinsights.telemetry.Telemetry;
+
+/**
+ * TelemetryClient that builds telemetry items as usual but discards them instead of sending them,
+ * so benchmarks measure the cost of the application code and the SDK object model only.
+ *
+ * @author Priyonuj Dey
+ */
+public class NoOpTelemetryClient extends TelemetryClient {
+
+    public NoOpTelemetryClient() {
+        super(configuration());
+    }
+
+    private static TelemetryConfiguration configuration() {
+        TelemetryConfiguration configuration = new TelemetryConfiguration();
+        configuration.setInstrumentationKey("00000000-0000-0000-0000-000000000000");
+        return configuration;
+    }
+
+    @Override
+    public void track(Telemetry telemetry) {
+        // Discard
+    }
+
+    @Override
+    public void flush() {
+        // Nothing buffered
+    }
+}
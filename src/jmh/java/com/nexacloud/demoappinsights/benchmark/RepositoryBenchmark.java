@@ -0,0 +1,98 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.nexacloud.demoappinsights.DemoAppInsightsApplication;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ProductRepository lookups against the in-memory H2 database, going through the
+ * full Spring Data JPA / Hibernate stack (no application cache in front).
+ *
+ * @author Priyonuj Dey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final Limit PAGE = Limit.of(50);
+
+    @Param({"10000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private long maxId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoAppInsightsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--azure.application-insights.connection-string=InstrumentationKey=00000000-0000-0000-0000-000000000000",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+
+        List<ProductModel> saved = productRepository.saveAll(BenchmarkData.products(products).stream()
+                .peek(product -> {
+                    product.setId(null);
+                    product.setVersion(null);
+                })
+                .toList());
+        maxId = saved.get(saved.size() - 1).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<ProductModel> findById() {
+        return productRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public boolean existsById() {
+        return productRepository.existsById(randomId());
+    }
+
+    @Benchmark
+    public List<ProductModel> idSeekPage() {
+        return productRepository.findByIdGreaterThanOrderByIdAsc(randomId(), PAGE);
+    }
+
+    @Benchmark
+    public List<ProductModel> priceSeekPage() {
+        double afterPrice = 10.0 + ThreadLocalRandom.current().nextInt(1000);
+        return productRepository.findPriceSeekPage(10.0, afterPrice, randomId(), PAGE);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, maxId + 1);
+    }
+}
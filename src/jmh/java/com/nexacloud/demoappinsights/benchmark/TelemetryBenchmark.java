@@ -0,0 +1,100 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.LatencyHistogram;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryTemplate;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the telemetry work done for a request.
+ *
+ * <p>
+ * The {@code trackOperation*} benchmarks measure what a request thread pays after a tracked operation:
+ * recording the latency, filling in the property template the way the operation aspect does and
+ * publishing to the pipeline ({@code trackOperationSampled} with the adaptive sampler in front, which
+ * drops most events at benchmark rates). {@code recordLatency} measures recording into a
+ * latency histogram alone, run with {@code -t} greater than one to see the striping at work. {@code clientTrackEvent} measures what the flusher thread pays
+ * per item to build the SDK telemetry object, against a {@link NoOpTelemetryClient}.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelemetryBenchmark {
+
+    private static final TelemetryTemplate FETCH_TELEMETRY = TelemetryTemplate.operation("getProductById", "id", "success");
+    private static final Long PRODUCT_ID = 42L;
+    private static final double PROCESSING_TIME_MS = 3.0;
+
+    private TelemetryPipeline pipeline;
+    private TelemetryUtil telemetryUtil;
+    private TelemetryUtil sampledTelemetryUtil;
+    private TelemetryClient telemetryClient;
+    private Map<String, String> properties;
+    private Map<String, Double> metrics;
+    private LatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        pipeline = BenchmarkData.startedPipeline();
+        telemetryUtil = BenchmarkData.telemetryUtil(pipeline);
+        sampledTelemetryUtil = BenchmarkData.sampledTelemetryUtil(pipeline);
+        telemetryClient = new NoOpTelemetryClient();
+        properties = new HashMap<>(FETCH_TELEMETRY.with(PRODUCT_ID, Boolean.TRUE));
+        metrics = new HashMap<>();
+        metrics.put("processingTimeMs", PROCESSING_TIME_MS);
+        histogram = new LatencyHistogram(16);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public void trackOperation() {
+        telemetryUtil.trackDuration("ProductFetched", properties, PROCESSING_TIME_MS, null);
+    }
+
+    @Benchmark
+    public void trackOperationSampled() {
+        sampledTelemetryUtil.trackDuration("ProductFetched", properties, PROCESSING_TIME_MS, null);
+    }
+
+    @Benchmark
+    public void trackOperationWithTemplateProperties() {
+        Map<String, String> operationProperties = FETCH_TELEMETRY.with(PRODUCT_ID, Boolean.TRUE);
+        telemetryUtil.trackDuration("ProductFetched", operationProperties, PROCESSING_TIME_MS, 1.0);
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        histogram.recordMillis(PROCESSING_TIME_MS);
+    }
+
+    @Benchmark
+    public void clientTrackEvent() {
+        telemetryClient.trackEvent("ProductFetched", properties, metrics);
+    }
+}
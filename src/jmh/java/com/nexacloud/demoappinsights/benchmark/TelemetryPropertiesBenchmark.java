@@ -0,0 +1,90 @@
+package com.nexacloud.demoappinsights.benchmark;
+
+import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation of building request telemetry properties with a {@link HashMap} per call
+ * against filling in a preallocated {@link TelemetryTemplate}.
+ *
+ * <p>
+ * Run with the default {@code -prof gc} and compare {@code gc.alloc.rate.norm} (bytes/op). The
+ * {@code template*} benchmarks build the properties the way the operation aspect does for a
+ * successful call; the {@code hashMap*} benchmarks build the same properties in a new map.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelemetryPropertiesBenchmark {
+
+    private static final TelemetryTemplate OPERATION_TELEMETRY = TelemetryTemplate.operation("getProductById", "id", "success");
+    private static final double PROCESSING_TIME_MS = 3.0;
+
+    private TelemetryPipeline pipeline;
+    private TelemetryUtil sampledTelemetryUtil;
+    private Long id;
+
+    @Setup
+    public void setUp() {
+        pipeline = BenchmarkData.startedPipeline();
+        sampledTelemetryUtil = BenchmarkData.sampledTelemetryUtil(pipeline);
+        // Outside the Long cache, like most real product IDs
+        id = 4242L;
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public Object hashMapProperties() {
+        return hashMapOperation();
+    }
+
+    @Benchmark
+    public Object templateProperties() {
+        return OPERATION_TELEMETRY.with(id, Boolean.TRUE);
+    }
+
+    @Benchmark
+    public void hashMapTrackOperation() {
+        sampledTelemetryUtil.trackDuration("ProductFetched", hashMapOperation(), PROCESSING_TIME_MS, null);
+    }
+
+    @Benchmark
+    public void templateTrackOperation() {
+        sampledTelemetryUtil.trackDuration("ProductFetched", OPERATION_TELEMETRY.with(id, Boolean.TRUE),
+                PROCESSING_TIME_MS, null);
+    }
+
+    private Map<String, String> hashMapOperation() {
+        Map<String, String> operation = new HashMap<>();
+        operation.put("operation", "getProductById");
+        operation.put("id", id.toString());
+        operation.put("success", Boolean.TRUE.toString());
+        return operation;
+    }
+}
@@ -0,0 +1,522 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, columnar (struct-of-arrays) snapshot of the product catalog.
+ *
+ * <p>
+ * Rows are stored in ID order across parallel arrays, with prices as a primitive {@code double[]}.
+ * A permutation of row indexes sorted by (price, id) plus a parallel array of sorted prices allows
+ * price filters to be answered with a binary search. Query results are {@link RowsView}s over the
+ * arrays: they are serialized straight from the columns and only materialize a {@link ProductModel}
+ * if an element is explicitly read.
+ * </p>
+ *
+ * <p>
+ * Writes never modify a snapshot; they return a new snapshot built with O(n) array copies, so
+ * readers can use a snapshot without any locking.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = new CatalogSnapshot(new long[0], new String[0], new String[0],
+            new double[0], new LocalDateTime[0], new LocalDateTime[0], new long[0], new int[0], new double[0]);
+
+    private final long[] ids;
+    private final String[] names;
+    private final String[] descriptions;
+    private final double[] prices;
+    private final LocalDateTime[] createdAt;
+    private final LocalDateTime[] updatedAt;
+    private final long[] versions;
+    private final int[] priceOrder;
+    private final double[] sortedPrices;
+
+    private CatalogSnapshot(long[] ids, String[] names, String[] descriptions, double[] prices,
+                            LocalDateTime[] createdAt, LocalDateTime[] updatedAt, long[] versions,
+                            int[] priceOrder, double[] sortedPrices) {
+        this.ids = ids;
+        this.names = names;
+        this.descriptions = descriptions;
+        this.prices = prices;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.versions = versions;
+        this.priceOrder = priceOrder;
+        this.sortedPrices = sortedPrices;
+    }
+
+    /**
+     * @return An empty snapshot
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from products sorted by ascending ID.
+     *
+     * @param products Products in ascending ID order
+     * @return A new snapshot
+     */
+    public static CatalogSnapshot of(List<ProductModel> products) {
+        int size = products.size();
+        long[] ids = new long[size];
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        double[] prices = new double[size];
+        LocalDateTime[] createdAt = new LocalDateTime[size];
+        LocalDateTime[] updatedAt = new LocalDateTime[size];
+        long[] versions = new long[size];
+
+        for (int row = 0; row < size; row++) {
+            ProductModel product = products.get(row);
+            ids[row] = product.getId();
+            names[row] = intern(product.getName());
+            descriptions[row] = intern(product.getDescription());
+            prices[row] = product.getPrice();
+            createdAt[row] = product.getCreatedAt();
+            updatedAt[row] = product.getUpdatedAt();
+            versions[row] = versionOf(product);
+        }
+
+        int[] priceOrder = IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(row -> prices[row]).thenComparingLong(row -> ids[row]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        double[] sortedPrices = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedPrices[i] = prices[priceOrder[i]];
+        }
+
+        return new CatalogSnapshot(ids, names, descriptions, prices, createdAt, updatedAt, versions, priceOrder, sortedPrices);
+    }
+
+    /**
+     * @return Number of products in the snapshot
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return Every product in ID order
+     */
+    public RowsView all() {
+        return new RowsView(this, null, 0, ids.length);
+    }
+
+    /**
+     * Returns up to {@code limit} products with an ID greater than {@code afterId}, in ID order.
+     *
+     * @param afterId Exclusive lower bound of the ID (null to start at the first product)
+     * @param limit Maximum number of products
+     * @return The matching products
+     */
+    public RowsView afterId(Long afterId, int limit) {
+        int from = afterId == null ? 0 : upperBound(afterId);
+        return new RowsView(this, null, from, Math.min(ids.length, from + limit));
+    }
+
+    /**
+     * Returns every product priced at or above {@code minPrice}, in (price, id) order.
+     *
+     * @param minPrice Inclusive minimum price
+     * @return The matching products
+     */
+    public RowsView fromMinPrice(double minPrice) {
+        return new RowsView(this, priceOrder, lowerBoundPrice(minPrice), priceOrder.length);
+    }
+
+    /**
+     * Returns up to {@code limit} products priced at or above {@code minPrice} that sort after the
+     * given (price, id) position, in (price, id) order.
+     *
+     * @param minPrice Inclusive minimum price
+     * @param afterPrice Price of the last product already returned (null to start at minPrice)
+     * @param afterId ID of the last product already returned
+     * @param limit Maximum number of products
+     * @return The matching products
+     */
+    public RowsView fromMinPrice(double minPrice, Double afterPrice, long afterId, int limit) {
+        int from = lowerBoundPrice(minPrice);
+        if (afterPrice != null) {
+            from = Math.max(from, positionAfter(afterPrice, afterId));
+        }
+        return new RowsView(this, priceOrder, from, Math.min(priceOrder.length, from + limit));
+    }
+
+    /**
+     * Returns a snapshot with the product inserted or replaced.
+     *
+     * @param product The product state to store
+     * @return A new snapshot
+     */
+    public CatalogSnapshot withProduct(ProductModel product) {
+        long id = product.getId();
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? replaceRow(row, product) : insertRow(-row - 1, product);
+    }
+
+    /**
+     * Returns a snapshot without the given product.
+     *
+     * @param id ID of the product to remove
+     * @return A new snapshot, or this snapshot if the product is not present
+     */
+    public CatalogSnapshot withoutProduct(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        if (row < 0) {
+            return this;
+        }
+
+        int size = ids.length - 1;
+        int position = pricePosition(prices[row], id);
+        int[] newOrder = new int[size];
+        double[] newSorted = new double[size];
+        for (int i = 0, j = 0; i < priceOrder.length; i++) {
+            if (i == position) {
+                continue;
+            }
+            int r = priceOrder[i];
+            newOrder[j] = r > row ? r - 1 : r;
+            newSorted[j++] = sortedPrices[i];
+        }
+
+        return new CatalogSnapshot(remove(ids, row), remove(names, row), remove(descriptions, row),
+                remove(prices, row), remove(createdAt, row), remove(updatedAt, row), remove(versions, row),
+                newOrder, newSorted);
+    }
+
+    /**
+     * Returns a snapshot without the products priced within the given inclusive range, built
+     * in a single pass over the rows. The rows are found with a binary search on the sorted prices.
+     *
+     * @param minPrice Inclusive minimum price
+     * @param maxPrice Inclusive maximum price
+     * @return A new snapshot, or this snapshot if no product is priced within the range
+     */
+    public CatalogSnapshot withoutPriceRange(double minPrice, double maxPrice) {
+        boolean[] removed = new boolean[ids.length];
+        int from = lowerBoundPrice(minPrice);
+        int removedCount = 0;
+        for (int i = from; i < sortedPrices.length && sortedPrices[i] <= maxPrice; i++) {
+            removed[priceOrder[i]] = true;
+            removedCount++;
+        }
+        return withoutRows(removed, removedCount);
+    }
+
+    private CatalogSnapshot withoutRows(boolean[] removed, int removedCount) {
+        if (removedCount == 0) {
+            return this;
+        }
+
+        int size = ids.length - removedCount;
+        int[] newRows = new int[ids.length];
+        long[] newIds = new long[size];
+        String[] newNames = new String[size];
+        String[] newDescriptions = new String[size];
+        double[] newPrices = new double[size];
+        LocalDateTime[] newCreatedAt = new LocalDateTime[size];
+        LocalDateTime[] newUpdatedAt = new LocalDateTime[size];
+        long[] newVersions = new long[size];
+        for (int row = 0, j = 0; row < ids.length; row++) {
+            if (removed[row]) {
+                continue;
+            }
+            newRows[row] = j;
+            newIds[j] = ids[row];
+            newNames[j] = names[row];
+            newDescriptions[j] = descriptions[row];
+            newPrices[j] = prices[row];
+            newCreatedAt[j] = createdAt[row];
+            newUpdatedAt[j] = updatedAt[row];
+            newVersions[j++] = versions[row];
+        }
+
+        int[] newOrder = new int[size];
+        double[] newSorted = new double[size];
+        for (int i = 0, j = 0; i < priceOrder.length; i++) {
+            int r = priceOrder[i];
+            if (removed[r]) {
+                continue;
+            }
+            newOrder[j] = newRows[r];
+            newSorted[j++] = sortedPrices[i];
+        }
+
+        return new CatalogSnapshot(newIds, newNames, newDescriptions, newPrices, newCreatedAt, newUpdatedAt, newVersions,
+                newOrder, newSorted);
+    }
+
+    ProductModel materialize(int row) {
+        return new ProductModel(ids[row], names[row], descriptions[row], prices[row], createdAt[row], updatedAt[row], versions[row]);
+    }
+
+    private CatalogSnapshot replaceRow(int row, ProductModel product) {
+        long id = ids[row];
+        double price = product.getPrice();
+
+        String[] newNames = names.clone();
+        String[] newDescriptions = descriptions.clone();
+        double[] newPrices = prices.clone();
+        LocalDateTime[] newCreatedAt = createdAt.clone();
+        LocalDateTime[] newUpdatedAt = updatedAt.clone();
+        long[] newVersions = versions.clone();
+        newNames[row] = intern(product.getName());
+        newDescriptions[row] = intern(product.getDescription());
+        newPrices[row] = price;
+        if (product.getCreatedAt() != null) {
+            newCreatedAt[row] = product.getCreatedAt();
+        }
+        newUpdatedAt[row] = product.getUpdatedAt();
+        newVersions[row] = versionOf(product);
+
+        // Move the row within the price permutation: drop its old position, then insert the new one
+        int oldPosition = pricePosition(prices[row], id);
+        int[] newOrder = new int[priceOrder.length];
+        double[] newSorted = new double[priceOrder.length];
+        int j = 0;
+        boolean inserted = false;
+        for (int i = 0; i < priceOrder.length; i++) {
+            if (i == oldPosition) {
+                continue;
+            }
+            if (!inserted && comparePosition(price, id, sortedPrices[i], ids[priceOrder[i]]) < 0) {
+                newOrder[j] = row;
+                newSorted[j++] = price;
+                inserted = true;
+            }
+            newOrder[j] = priceOrder[i];
+            newSorted[j++] = sortedPrices[i];
+        }
+        if (!inserted) {
+            newOrder[j] = row;
+            newSorted[j] = price;
+        }
+
+        return new CatalogSnapshot(ids, newNames, newDescriptions, newPrices, newCreatedAt, newUpdatedAt, newVersions,
+                newOrder, newSorted);
+    }
+
+    private CatalogSnapshot insertRow(int row, ProductModel product) {
+        long id = product.getId();
+        double price = product.getPrice();
+
+        int position = positionAfter(price, id);
+        int[] newOrder = new int[priceOrder.length + 1];
+        double[] newSorted = new double[priceOrder.length + 1];
+        for (int i = 0, j = 0; i <= priceOrder.length; i++) {
+            if (i == position) {
+                newOrder[j] = row;
+                newSorted[j++] = price;
+            }
+            if (i < priceOrder.length) {
+                int r = priceOrder[i];
+                newOrder[j] = r >= row ? r + 1 : r;
+                newSorted[j++] = sortedPrices[i];
+            }
+        }
+
+        return new CatalogSnapshot(insert(ids, row, id), insert(names, row, intern(product.getName())),
+                insert(descriptions, row, intern(product.getDescription())), insert(prices, row, price),
+                insert(createdAt, row, product.getCreatedAt()), insert(updatedAt, row, product.getUpdatedAt()),
+                insert(versions, row, versionOf(product)), newOrder, newSorted);
+    }
+
+    /**
+     * Index of the first row whose ID is greater than the given ID.
+     */
+    private int upperBound(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? row + 1 : -row - 1;
+    }
+
+    /**
+     * Position in the price permutation of the first product priced at or above the given price.
+     */
+    private int lowerBoundPrice(double price) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position in the price permutation of the first product sorting after (price, id).
+     */
+    private int positionAfter(double price, long id) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePosition(sortedPrices[mid], ids[priceOrder[mid]], price, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Position in the price permutation of the product with the given price and ID.
+     */
+    private int pricePosition(double price, long id) {
+        return positionAfter(price, id) - 1;
+    }
+
+    private static int comparePosition(double price, long id, double otherPrice, long otherId) {
+        int byPrice = Double.compare(price, otherPrice);
+        return byPrice != 0 ? byPrice : Long.compare(id, otherId);
+    }
+
+    private static long versionOf(ProductModel product) {
+        return product.getVersion() != null ? product.getVersion() : 0L;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    private static long[] insert(long[] source, int index, long value) {
+        long[] target = new long[source.length + 1];
+        System.arraycopy(source, 0, target, 0, index);
+        target[index] = value;
+        System.arraycopy(source, index, target, index + 1, source.length - index);
+        return target;
+    }
+
+    private static double[] insert(double[] source, int index, double value) {
+        double[] target = new double[source.length + 1];
+        System.arraycopy(source, 0, target, 0, index);
+        target[index] = value;
+        System.arraycopy(source, index, target, index + 1, source.length - index);
+        return target;
+    }
+
+    private static <T> T[] insert(T[] source, int index, T value) {
+        T[] target = Arrays.copyOf(source, source.length + 1);
+        System.arraycopy(source, index, target, index + 1, source.length - index);
+        target[index] = value;
+        return target;
+    }
+
+    private static long[] remove(long[] source, int index) {
+        long[] target = new long[source.length - 1];
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+        return target;
+    }
+
+    private static double[] remove(double[] source, int index) {
+        double[] target = new double[source.length - 1];
+        System.arraycopy(source, 0, target, 0, index);
+        System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+        return target;
+    }
+
+    private static <T> T[] remove(T[] source, int index) {
+        T[] target = Arrays.copyOf(source, source.length - 1);
+        System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+        return target;
+    }
+
+    /**
+     * Read-only list of snapshot rows, either in ID order or in (price, id) order.
+     *
+     * <p>
+     * Elements are materialized as detached {@link ProductModel}s only when read through
+     * {@link #get(int)}. JSON serialization writes the rows straight from the snapshot columns.
+     * </p>
+     */
+    @JsonSerialize(using = RowsViewSerializer.class)
+    public static final class RowsView extends AbstractList<ProductModel> {
+
+        private final CatalogSnapshot snapshot;
+        private final int[] order;
+        private final int from;
+        private final int to;
+
+        private RowsView(CatalogSnapshot snapshot, int[] order, int from, int to) {
+            this.snapshot = snapshot;
+            this.order = order;
+            this.from = from;
+            this.to = Math.max(from, to);
+        }
+
+        @Override
+        public ProductModel get(int index) {
+            return snapshot.materialize(row(index));
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public RowsView subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Invalid range " + fromIndex + ".." + toIndex);
+            }
+            return new RowsView(snapshot, order, from + fromIndex, from + toIndex);
+        }
+
+        private int row(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            return order == null ? from + index : order[from + index];
+        }
+    }
+
+    /**
+     * Serializes a {@link RowsView} as an array of products without creating ProductModel instances.
+     */
+    static final class RowsViewSerializer extends JsonSerializer<RowsView> {
+
+        @Override
+        public void serialize(RowsView view, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            CatalogSnapshot snapshot = view.snapshot;
+            generator.writeStartArray(view, view.size());
+            for (int i = 0; i < view.size(); i++) {
+                int row = view.row(i);
+                generator.writeStartObject();
+                generator.writeNumberField("id", snapshot.ids[row]);
+                generator.writeStringField("name", snapshot.names[row]);
+                generator.writeStringField("description", snapshot.descriptions[row]);
+                generator.writeNumberField("price", snapshot.prices[row]);
+                provider.defaultSerializeField("createdAt", snapshot.createdAt[row], generator);
+                provider.defaultSerializeField("updatedAt", snapshot.updatedAt[row], generator);
+                generator.writeNumberField("version", snapshot.versions[row]);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.CommittedProductChange;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and keeps it in sync with committed product changes.
+ *
+ * <p>
+ * The store is optional and only active when {@code product.catalog-snapshot.enabled} is set.
+ * The snapshot is loaded once the application is ready; until then {@link #current()} returns
+ * null and callers fall back to the database. Readers just read a volatile reference. Writers are
+ * serialized and publish a new snapshot (copy-on-write) for every change.
+ * </p>
+ *
+ * <p>
+ * Changes are taken from the {@link CommittedProductChange} events of the change log rather than
+ * from after-commit callbacks, because only the change log delivers them in the order they were
+ * made: after-commit callbacks of concurrent transactions can run in any order, which would let
+ * an older update overwrite a newer one or bring back a deleted product. The events are queued
+ * and applied on a single background thread, so the copy of the snapshot never delays the
+ * committing thread.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotStore {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final Object writeLock = new Object();
+    private final Queue<CommittedProductChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private volatile CatalogSnapshot snapshot;
+    private ExecutorService applier;
+
+    public CatalogSnapshotStore(ProductRepository productRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${product.catalog-snapshot.enabled:false}") boolean enabled) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts the thread applying committed changes to the snapshot.
+     */
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            applier = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "catalog-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Stops applying changes.
+     */
+    @PreDestroy
+    public void stop() {
+        if (applier != null) {
+            applier.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The current snapshot, or null if the snapshot is disabled or not loaded yet
+     */
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Loads the snapshot from the database once the application has started. Changes committed
+     * while the catalog is being read are queued and replayed in order on top of the loaded snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        CatalogSnapshot loaded = transactionTemplate.execute(status -> {
+            try (Stream<ProductModel> products = productRepository.streamAllByOrderByIdAsc()) {
+                return CatalogSnapshot.of(products.toList());
+            }
+        });
+
+        synchronized (writeLock) {
+            snapshot = applyPending(loaded != null ? loaded : CatalogSnapshot.empty());
+        }
+        log.info("Loaded catalog snapshot with {} products in {} ms", snapshot.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Queues a committed product change to be applied to the snapshot.
+     *
+     * @param change The committed change, delivered in change log order
+     */
+    @EventListener
+    public void onCommittedChange(CommittedProductChange change) {
+        if (!enabled) {
+            return;
+        }
+        pendingChanges.add(change);
+        applier.execute(this::applyPendingChanges);
+    }
+
+    private void applyPendingChanges() {
+        synchronized (writeLock) {
+            // Until the snapshot is loaded, changes stay queued for the load to replay
+            if (snapshot != null) {
+                snapshot = applyPending(snapshot);
+            }
+        }
+    }
+
+    private CatalogSnapshot applyPending(CatalogSnapshot current) {
+        CommittedProductChange change;
+        while ((change = pendingChanges.poll()) != null) {
+            current = apply(current, change);
+        }
+        return current;
+    }
+
+    private CatalogSnapshot apply(CatalogSnapshot current, CommittedProductChange change) {
+        return switch (change.type()) {
+            case RANGE_DELETED -> current.withoutPriceRange(change.rangeDeletion().lowerBound(),
+                    change.rangeDeletion().upperBound());
+            case DELETED -> current.withoutProduct(change.productId());
+            case CREATED, UPDATED -> current.withProduct(change.product());
+        };
+    }
+}
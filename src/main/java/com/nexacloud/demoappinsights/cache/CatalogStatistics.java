@@ -0,0 +1,292 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.dto.response.ProductStatsRes;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog-wide product statistics maintained incrementally from committed product changes.
+ *
+ * <p>
+ * Count, price total and histogram buckets are striped adders, so writers never contend with each
+ * other or with readers, and reading the statistics costs the same whatever the catalog size. To
+ * turn an update or a deletion into a delta without reading the database, the price of every
+ * product is kept by ID; min and max come from a sorted multiset of prices, so deleting the
+ * cheapest product moves the minimum to the next cheapest one.
+ * </p>
+ *
+ * <p>
+ * The statistics are loaded once the application is ready and reconciled periodically against a
+ * single aggregate query. If they have drifted (a change committed outside the services, or two
+ * changes of the same product applied out of order), they are rebuilt from the database. Changes
+ * committed during a rebuild are replayed on top of it.
+ * </p>
+ *
+ * <p>
+ * Both costs grow with the catalog. The price map holds one entry per product (roughly 100 bytes
+ * of heap each), and a rebuild is not incremental: {@link ProductRepository#findAllPrices()} reads
+ * the ID and price of every product in one scan. A rebuild only happens at startup and after a
+ * reconciliation has found drift; the periodic check itself is a single aggregate query.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Slf4j
+@Component
+public class CatalogStatistics implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final double[] bucketBounds;
+    private final long reconcileIntervalMs;
+
+    private final LongAdder consistent = new LongAdder();
+    private final LongAdder drifted = new LongAdder();
+    private final Queue<ProductChangeEvent> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    private volatile Statistics statistics;
+    private volatile boolean rebuilding;
+    private volatile LocalDateTime reconciledAt;
+    private ScheduledExecutorService scheduler;
+
+    public CatalogStatistics(ProductRepository productRepository,
+                             @Value("${product.stats.histogram-bounds:10,50,100,500,1000}") double[] bucketBounds,
+                             @Value("${product.stats.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.productRepository = productRepository;
+        this.bucketBounds = bucketBounds.clone();
+        Arrays.sort(this.bucketBounds);
+        this.reconcileIntervalMs = reconcileInterval.toMillis();
+        this.statistics = new Statistics(this.bucketBounds);
+    }
+
+    /**
+     * Loads the statistics and starts the periodic reconciliation once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        rebuild();
+        if (reconcileIntervalMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-stats-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileQuietly, reconcileIntervalMs, reconcileIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic reconciliation.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return The current statistics
+     */
+    public ProductStatsRes snapshot() {
+        Statistics current = statistics;
+        long count = current.count.sum();
+        Map.Entry<Double, Long> min = current.priceCounts.firstEntry();
+        Map.Entry<Double, Long> max = current.priceCounts.lastEntry();
+        Double average = count > 0 ? current.total.sum() / count : null;
+
+        List<ProductStatsRes.PriceBucket> histogram = new ArrayList<>(current.buckets.length);
+        for (int i = 0; i < current.buckets.length; i++) {
+            Double from = i > 0 ? bucketBounds[i - 1] : null;
+            Double to = i < bucketBounds.length ? bucketBounds[i] : null;
+            histogram.add(new ProductStatsRes.PriceBucket(from, to, current.buckets[i].sum()));
+        }
+        return new ProductStatsRes(count, min != null ? min.getKey() : null, max != null ? max.getKey() : null,
+                average, histogram, reconciledAt);
+    }
+
+    /**
+     * Applies a committed product change to the statistics.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        if (rebuilding) {
+            pendingChanges.add(event);
+        }
+        statistics.apply(event);
+    }
+
+    /**
+     * Compares the statistics with the database and rebuilds them if they have drifted.
+     *
+     * @return Whether the statistics were consistent with the database
+     */
+    public synchronized boolean reconcile() {
+        ProductRepository.PriceSummary summary = productRepository.summarizePrices();
+        Statistics current = statistics;
+        long count = current.count.sum();
+        Map.Entry<Double, Long> min = current.priceCounts.firstEntry();
+        Map.Entry<Double, Long> max = current.priceCounts.lastEntry();
+
+        boolean matches = count == summary.getCount()
+                && Objects.equals(min != null ? min.getKey() : null, summary.getMinPrice())
+                && Objects.equals(max != null ? max.getKey() : null, summary.getMaxPrice())
+                && closeEnough(current.total.sum(), summary.getTotalPrice() != null ? summary.getTotalPrice() : 0);
+        if (matches) {
+            consistent.increment();
+            reconciledAt = LocalDateTime.now();
+            return true;
+        }
+
+        drifted.increment();
+        log.warn("Catalog statistics drifted from the database (count {} vs {}), rebuilding", count, summary.getCount());
+        rebuild();
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.stats.reconciliations", consistent, LongAdder::sum)
+                .tag("result", "consistent")
+                .description("Reconciliations that found the statistics in line with the database")
+                .register(registry);
+        FunctionCounter.builder("catalog.stats.reconciliations", drifted, LongAdder::sum)
+                .tag("result", "drifted")
+                .description("Reconciliations that found drift and rebuilt the statistics")
+                .register(registry);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Catalog statistics reconciliation failed", e);
+        }
+    }
+
+    private void rebuild() {
+        rebuilding = true;
+        try {
+            Statistics rebuilt = new Statistics(bucketBounds);
+            for (ProductRepository.ProductPrice product : productRepository.findAllPrices()) {
+                rebuilt.put(product.getId(), product.getPrice());
+            }
+            statistics = rebuilt;
+        } finally {
+            rebuilding = false;
+        }
+        // Changes are keyed by product ID or price range, so replaying one that is already in the rebuilt state is harmless
+        ProductChangeEvent change;
+        while ((change = pendingChanges.poll()) != null) {
+            statistics.apply(change);
+        }
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private static boolean closeEnough(double actual, double expected) {
+        return Math.abs(actual - expected) <= 1e-6 + 1e-9 * Math.abs(expected);
+    }
+
+    /**
+     * One generation of the statistics; replaced as a whole when the statistics are rebuilt.
+     */
+    private static final class Statistics {
+
+        private final double[] bucketBounds;
+        private final ConcurrentHashMap<Long, Double> prices = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Double, Long> priceCounts = new ConcurrentSkipListMap<>();
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder total = new DoubleAdder();
+        private final LongAdder[] buckets;
+
+        private Statistics(double[] bucketBounds) {
+            this.bucketBounds = bucketBounds;
+            this.buckets = new LongAdder[bucketBounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void apply(ProductChangeEvent event) {
+            ProductChangeEvent.RangeDeletion range = event.rangeDeletion();
+            if (range != null) {
+                for (Map.Entry<Long, Double> product : prices.entrySet()) {
+                    if (range.includes(product.getValue()) && prices.remove(product.getKey(), product.getValue())) {
+                        remove(product.getValue());
+                    }
+                }
+                return;
+            }
+            if (event.isDeletion()) {
+                Double previous = prices.remove(event.productId());
+                if (previous != null) {
+                    remove(previous);
+                }
+                return;
+            }
+            ProductModel product = event.product();
+            if (product != null && product.getPrice() != null) {
+                put(event.productId(), product.getPrice());
+            }
+        }
+
+        private void put(Long id, double price) {
+            Double previous = prices.put(id, price);
+            if (previous != null) {
+                if (previous == price) {
+                    return;
+                }
+                remove(previous);
+            }
+            count.increment();
+            total.add(price);
+            buckets[bucket(price)].increment();
+            priceCounts.merge(price, 1L, Long::sum);
+        }
+
+        private void remove(double price) {
+            count.decrement();
+            total.add(-price);
+            buckets[bucket(price)].decrement();
+            priceCounts.computeIfPresent(price, (key, products) -> products == 1 ? null : products - 1);
+        }
+
+        private int bucket(double price) {
+            int index = Arrays.binarySearch(bucketBounds, price);
+            // An exact bound starts its own bucket; otherwise use the insertion point
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog-wide version counter bumped by every committed product change.
+ *
+ * <p>
+ * The counter lives in memory, so the ETag derived from it also includes the time this instance
+ * started. That way tags handed out before a restart can never match tags handed out after it.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class CatalogVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * @return The current catalog version
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Builds a strong ETag for catalog-wide representations such as product listings.
+     * Must be read before the listing is loaded, so a concurrent write can only make the tag
+     * older than the data, never newer.
+     *
+     * @return The quoted ETag value
+     */
+    public String eTag() {
+        return "\"catalog-" + Long.toHexString(epoch) + "-" + Long.toHexString(version.get()) + "\"";
+    }
+
+    /**
+     * Bumps the version once a product change has been committed.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,228 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache of products by ID.
+ *
+ * <p>
+ * Entries are evicted by size (least recently/frequently used) and by TTL. Misses can be cached
+ * as negative entries with their own, shorter TTL so repeated lookups of missing IDs do not reach
+ * the database. Concurrent loads of the same ID share one database call. Entries are invalidated
+ * by ID after every committed product change, and by price after a price range delete. Hit, miss, eviction and size metrics are published
+ * under the {@code cache.*} meters with {@code cache=products}.
+ * </p>
+ *
+ * <p>
+ * A single-ID load holds the entry while it reads, so an invalidation of that ID waits for it and
+ * then removes what it stored. A bulk load cannot hold its entries that way; it only stores what
+ * it read if no invalidation happened since it started, otherwise the products are returned
+ * without being cached.
+ * </p>
+ *
+ * <p>
+ * Products are stored as immutable copies and every read returns a new {@link ProductModel}, so
+ * a caller that modifies the product it got (or the entity it loaded) never changes what other
+ * callers read from the cache.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "products";
+
+    private final Cache<Long, Optional<CachedProduct>> cache;
+    private final boolean negativeCachingEnabled;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong rangeInvalidations = new AtomicLong();
+
+    @Autowired
+    public ProductCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.ttl:5m}") Duration ttl,
+                        @Value("${product.cache.negative.enabled:true}") boolean negativeCachingEnabled,
+                        @Value("${product.cache.negative.ttl:30s}") Duration negativeTtl) {
+        this(maximumSize, ttl, negativeCachingEnabled, negativeTtl, Ticker.systemTicker());
+    }
+
+    ProductCache(long maximumSize, Duration ttl, boolean negativeCachingEnabled, Duration negativeTtl, Ticker ticker) {
+        this.negativeCachingEnabled = negativeCachingEnabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceAwareExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached product, loading it with the given function on a miss.
+     *
+     * @param id The product ID
+     * @param loader Function loading the product from the database
+     * @return The product, or an empty Optional if it does not exist
+     */
+    public Optional<ProductModel> get(Long id, Function<Long, Optional<ProductModel>> loader) {
+        long rangeInvalidationsBefore = rangeInvalidations.get();
+        Optional<CachedProduct> product = cache.get(id, key -> {
+            Optional<CachedProduct> loaded = loader.apply(key).map(CachedProduct::of);
+            // Returning null tells Caffeine not to store the entry
+            return loaded.isPresent() || negativeCachingEnabled ? loaded : null;
+        });
+        if (product != null && rangeInvalidations.get() != rangeInvalidationsBefore) {
+            // A range invalidation only sees stored entries, so it may have missed one being loaded here
+            cache.asMap().remove(id, product);
+        }
+        return product != null ? product.map(CachedProduct::toModel) : Optional.empty();
+    }
+
+    /**
+     * Returns the cached products, loading all misses with a single call of the given function.
+     *
+     * @param ids The product IDs
+     * @param loader Function loading the missing products; IDs it leaves out do not exist
+     * @return The entries of the requested IDs (IDs that do not exist map to an empty Optional)
+     */
+    public Map<Long, Optional<ProductModel>> getAll(Collection<Long> ids,
+                                                    Function<Set<? extends Long>, Map<Long, ProductModel>> loader) {
+        Map<Long, Optional<CachedProduct>> cached = cache.getAllPresent(ids);
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+
+        Map<Long, Optional<CachedProduct>> loaded = new HashMap<>(missing.size() * 2);
+        if (!missing.isEmpty()) {
+            long invalidationsBefore = invalidations.get();
+            Map<Long, ProductModel> products = loader.apply(missing);
+            for (Long id : missing) {
+                Optional<CachedProduct> entry = Optional.ofNullable(products.get(id)).map(CachedProduct::of);
+                loaded.put(id, entry);
+                if (entry.isPresent() || negativeCachingEnabled) {
+                    // Checked under the entry's lock, so an invalidation either is seen here or removes the entry after
+                    cache.asMap().compute(id, (key, existing) -> existing != null ? existing
+                            : invalidations.get() == invalidationsBefore ? entry : null);
+                }
+            }
+        }
+
+        Map<Long, Optional<ProductModel>> result = new LinkedHashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            Optional<CachedProduct> product = cached.containsKey(id) ? cached.get(id) : loaded.get(id);
+            result.put(id, product.map(CachedProduct::toModel));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the version of a cached product without loading it or counting a cache hit.
+     *
+     * @param id The product ID
+     * @return The cached version, or an empty Optional if the product is not cached (or cached as missing)
+     */
+    public Optional<Long> cachedVersion(Long id) {
+        Optional<CachedProduct> product = cache.asMap().get(id);
+        return product != null && product.isPresent()
+                ? Optional.of(product.get().version() != null ? product.get().version() : 0L)
+                : Optional.empty();
+    }
+
+    /**
+     * Removes a product from the cache.
+     *
+     * @param id The product ID
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalidates the changed products once the change has been committed. Creations are
+     * invalidated too, because the ID may be held as a negative entry. A price range delete
+     * invalidates every cached product priced within the range.
+     *
+     * @param event The product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChange(ProductChangeEvent event) {
+        invalidations.incrementAndGet();
+        ProductChangeEvent.RangeDeletion range = event.rangeDeletion();
+        if (range == null) {
+            cache.invalidate(event.productId());
+            return;
+        }
+        rangeInvalidations.incrementAndGet();
+        cache.asMap().values().removeIf(product -> product.isPresent() && range.includes(product.get().price()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Immutable copy of a product as stored in the cache.
+     */
+    private record CachedProduct(Long id, String name, String description, Double price, LocalDateTime createdAt,
+                                 LocalDateTime updatedAt, Long version) {
+
+        static CachedProduct of(ProductModel product) {
+            return new CachedProduct(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                    product.getCreatedAt(), product.getUpdatedAt(), product.getVersion());
+        }
+
+        ProductModel toModel() {
+            return new ProductModel(id, name, description, price, createdAt, updatedAt, version);
+        }
+    }
+
+    /**
+     * Expires present products after the regular TTL and cached misses after the negative TTL.
+     */
+    private record PresenceAwareExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Optional<CachedProduct>> {
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<CachedProduct> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<CachedProduct> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<CachedProduct> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight groups for the product reads that get hot under load.
+ *
+ * <p>
+ * Concurrent listings with the same minimum price share one in-flight repository call. Coalescing
+ * can be switched off with {@code product.single-flight.enabled=false}, in which case every call
+ * runs on its own. Lookups by ID need no group of their own: {@link ProductCache} loads each
+ * missing entry once and makes concurrent callers of the same ID wait for that load.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class ProductReadCoalescer implements MeterBinder {
+
+    private final boolean enabled;
+    private final SingleFlight<Double, List<ProductModel>> byMinPrice = new SingleFlight<>("products.byMinPrice");
+
+    public ProductReadCoalescer(@Value("${product.single-flight.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs a listing by minimum price, or joins the identical listing in flight.
+     *
+     * @param minPrice The minimum price
+     * @param call The listing; its result is shared and must not be modified
+     * @return The result of the listing
+     */
+    public List<ProductModel> byMinPrice(Double minPrice, Supplier<List<ProductModel>> call) {
+        return enabled ? byMinPrice.execute(minPrice, call) : call.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        byMinPrice.bindTo(registry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.nexacloud.demoappinsights.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls into one.
+ *
+ * <p>
+ * The first caller for a key runs the call on its own thread; callers arriving with the same key
+ * while it is in flight wait for it and get the same result, or the same exception. Nothing is
+ * remembered once the call completes, so a later caller starts a new call. Shared results are
+ * handed to several threads and must not be modified.
+ * </p>
+ *
+ * <p>
+ * Calls are counted under {@code singleflight.calls} with the {@code name} of the group and
+ * {@code result=executed} or {@code result=coalesced}; executed calls that threw are counted under
+ * {@code singleflight.failures}.
+ * </p>
+ *
+ * @param <K> Key type, compared with equals
+ * @param <V> Result type
+ * @author Priyonuj Dey
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+
+    private final String name;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Runs the call, or joins the identical call already in flight.
+     *
+     * @param key Key identifying identical calls
+     * @param call The call to run if none is in flight for the key
+     * @return The result of the call
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V result = call.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            failed.increment();
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return Number of calls that ran
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * @return Number of calls that joined a call already in flight
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("singleflight.calls", executed, LongAdder::sum)
+                .tag("name", name).tag("result", "executed")
+                .description("Calls that ran")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", coalesced, LongAdder::sum)
+                .tag("name", name).tag("result", "coalesced")
+                .description("Calls that shared the result of an identical call in flight")
+                .register(registry);
+        FunctionCounter.builder("singleflight.failures", failed, LongAdder::sum)
+                .tag("name", name)
+                .description("Calls that ran and threw; every caller sharing them got the exception")
+                .register(registry);
+        Gauge.builder("singleflight.in.flight", inFlight, Map::size)
+                .tag("name", name)
+                .description("Calls currently in flight")
+                .register(registry);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow what the call threw so callers see the same exception as the first caller
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
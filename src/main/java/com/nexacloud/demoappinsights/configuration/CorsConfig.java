@@ -22,8 +22,9 @@ public class CorsConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")  // Apply CORS configuration to all paths
                 .allowedOrigins("*")  // Allow requests from any origin
-                .allowedMethods("GET", "POST", "PUT")  // Allow these HTTP methods
+                .allowedMethods("GET", "POST", "PUT", "PATCH")  // Allow these HTTP methods
                 .allowedHeaders("*")  // Allow all headers in requests
+                .exposedHeaders("ETag")  // Let clients read entity tags for conditional requests
                 .allowCredentials(false)  // Don't allow credentials (cookies, auth headers)
                 .maxAge(3600);  // Cache preflight response for 1 hour (3600 seconds)
     }
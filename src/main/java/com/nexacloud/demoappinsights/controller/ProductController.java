@@ -1,28 +1,56 @@
 package com.nexacloud.demoappinsights.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.nexacloud.demoappinsights.cache.CatalogStatistics;
+import com.nexacloud.demoappinsights.cache.CatalogVersion;
+import com.nexacloud.demoappinsights.dto.request.ProductBatchOperationReq;
+import com.nexacloud.demoappinsights.dto.request.ProductLookupReq;
+import com.nexacloud.demoappinsights.dto.request.ProductPatchReq;
 import com.nexacloud.demoappinsights.dto.request.ProductReq;
 import com.nexacloud.demoappinsights.dto.response.ErrorRes;
+import com.nexacloud.demoappinsights.dto.response.ProductBatchItemRes;
+import com.nexacloud.demoappinsights.dto.response.ProductChangeRes;
+import com.nexacloud.demoappinsights.dto.response.ProductChangesRes;
+import com.nexacloud.demoappinsights.dto.response.ProductDeleteRes;
+import com.nexacloud.demoappinsights.dto.response.ProductMultiGetRes;
+import com.nexacloud.demoappinsights.dto.response.ProductPageRes;
+import com.nexacloud.demoappinsights.dto.response.ProductStatsRes;
 import com.nexacloud.demoappinsights.dto.response.SuccessRes;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeStream;
+import com.nexacloud.demoappinsights.exception.ValidationException;
+import com.nexacloud.demoappinsights.service.interfaces.product.ProductBatchService;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductCreateService;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductDeleteService;
+import com.nexacloud.demoappinsights.service.interfaces.product.ProductExportService;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductFetchService;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductUpdateService;
+import com.nexacloud.demoappinsights.util.ProductUtil;
 import com.nexacloud.demoappinsights.util.ResponseUtil;
-import com.nexacloud.demoappinsights.util.TelemetryUtil;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -41,61 +69,201 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String MERGE_PATCH_MEDIA_TYPE = "application/merge-patch+json";
+
     private final ProductDeleteService productDeleteService;
     private final ProductFetchService productFetchService;
     private final ProductCreateService productCreateService;
     private final ProductUpdateService productUpdateService;
-    private final TelemetryUtil telemetryUtil;
+    private final ProductExportService productExportService;
+    private final ProductBatchService productBatchService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private final CatalogStatistics catalogStatistics;
+    private final ProductChangeStream productChangeStream;
     private final ResponseUtil responseUtil;
 
     /**
-     * Retrieves a list of all products in the database.
+     * Retrieves a page of products using keyset pagination.
      *
      * @param minPrice The minimum price of the products to retrieve (optional)
-     * @return A ResponseEntity containing the list of products
+     * @param limit Maximum number of products on the page (optional)
+     * @param after Opaque cursor returned as nextCursor by the previous page (optional)
+     * @param unpaged Whether to return every product in one response (only if enabled on the server)
+     * @param webRequest The current request, used to evaluate If-None-Match
+     * @return A ResponseEntity containing the page of products, or 304 if the client copy is current
      */
     @Operation(summary = "Get all products",
-            description = "Retrieves a list of all products in the database.",
+            description = "Retrieves a page of products ordered by ID, or by price and ID when minPrice is set. "
+                    + "Pass the returned nextCursor as 'after' to fetch the next page.",
             tags = {"Products"},
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Successful response with a list of products",
+                    @ApiResponse(responseCode = "200", description = "Successful response with a page of products",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "304", description = "Not modified, the catalog has not changed since the ETag was issued"),
                     @ApiResponse(responseCode = "400", description = "Bad request, invalid input parameters",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
                     @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
             })
     @GetMapping
-    public ResponseEntity<SuccessRes<List<ProductModel>>> getAllProducts(@RequestParam(required = false) Double minPrice) {
-        Map<String, String> properties = telemetryUtil.createEndpointProperties("GET", "/api/products", null);
-        properties.put("hasFilter", String.valueOf(minPrice != null));
-
-        if (minPrice != null) {
-            properties.put("minPrice", minPrice.toString());
+    public ResponseEntity<SuccessRes<ProductPageRes>> getAllProducts(@RequestParam(required = false) Double minPrice,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "false") boolean unpaged,
+                                                                     WebRequest webRequest) {
+        // Read the catalog version before loading the page so a concurrent write can only make the tag stale
+        String eTag = catalogVersion.eTag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
         }
 
-        try {
-            List<ProductModel> products;
-            if (minPrice != null) {
-                telemetryUtil.trackOperation("ProductsListFiltered", properties, System.currentTimeMillis(), null);
-                products = productFetchService.getProductsByMinPrice(minPrice);
-            } else {
-                telemetryUtil.trackOperation("ProductsListRequested", properties, System.currentTimeMillis(), null);
-                products = productFetchService.getAllProducts();
-            }
+        ProductPageRes page = unpaged
+                ? productFetchService.getAllProductsUnpaged(minPrice)
+                : productFetchService.getProductsPage(minPrice, limit, after);
+
+        return responseUtil.createOkResponse("Data fetched successfully", page, eTag);
+    }
 
-            return responseUtil.createOkResponse("Data fetched successfully", products);
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+    /**
+     * Exports the whole product catalog as newline-delimited JSON.
+     *
+     * @return A ResponseEntity whose body streams one product per line
+     */
+    @Operation(summary = "Export products",
+            description = "Streams every product as newline-delimited JSON (one product per line), ordered by ID.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response streaming the catalog",
+                            content = @Content(mediaType = NDJSON_MEDIA_TYPE, schema = @Schema(implementation = ProductModel.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping(value = "/export", produces = NDJSON_MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = productExportService::exportProducts;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Retrieves the cheapest or most expensive products.
+     *
+     * @param order Price order: asc for the cheapest products first, desc for the most expensive first
+     * @param limit Maximum number of products to return (optional)
+     * @param minPrice The minimum price, inclusive (optional)
+     * @param maxPrice The maximum price, inclusive (optional)
+     * @return A ResponseEntity containing the products ordered by price
+     */
+    @Operation(summary = "Get top products by price",
+            description = "Retrieves the N cheapest (order=asc) or most expensive (order=desc) products, optionally "
+                    + "within a price range. Ties are broken by ID.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response with the products ordered by price",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, invalid input parameters",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping("/top")
+    public ResponseEntity<SuccessRes<List<ProductModel>>> getTopProductsByPrice(@RequestParam(defaultValue = "asc") String order,
+                                                                               @RequestParam(required = false) Integer limit,
+                                                                               @RequestParam(required = false) Double minPrice,
+                                                                               @RequestParam(required = false) Double maxPrice) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(order)
+                .orElseThrow(() -> new ValidationException("order", "Order must be asc or desc"));
+        List<ProductModel> products = productFetchService.getTopProductsByPrice(direction, minPrice, maxPrice, limit);
+        return responseUtil.createOkResponse("Data fetched successfully", products);
+    }
+
+    /**
+     * Retrieves the products changed since a change token.
+     *
+     * @param since Token returned by the previous request (optional, omit to read from the beginning)
+     * @param limit Maximum number of changes to read (optional)
+     * @return A ResponseEntity containing the changed products and the token to continue from
+     */
+    @Operation(summary = "Get product changes",
+            description = "Returns the products created, updated or deleted since the given token, for incremental "
+                    + "sync. Deleted products are returned as tombstones without a product. Pass nextToken back as "
+                    + "'since' to continue; hasMore=false means the consumer has caught up.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response with the changed products",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, invalid token or limit",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping("/changes")
+    public ResponseEntity<SuccessRes<ProductChangesRes>> getChanges(@RequestParam(required = false) String since,
+                                                                    @RequestParam(required = false) Integer limit) {
+        ProductChangesRes changes = productFetchService.getChanges(since, limit);
+        return responseUtil.createOkResponse("Data fetched successfully", changes);
+    }
+
+    /**
+     * Streams product changes as Server-Sent Events.
+     *
+     * @param lastEventId ID of the last event received, sent by EventSource clients when reconnecting (optional)
+     * @return A ResponseEntity whose body is the event stream
+     */
+    @Operation(summary = "Stream product changes",
+            description = "Pushes every committed product change as a Server-Sent Event named CREATED, UPDATED or "
+                    + "DELETED, with the change sequence as event ID. Reconnect with Last-Event-ID to resume; a "
+                    + "'resync' event means the client is too far behind and should catch up through /changes.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Event stream of product changes",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                    schema = @Schema(implementation = ProductChangeRes.class))),
+                    @ApiResponse(responseCode = "503", description = "Too many open subscriptions, retry later",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeAfter = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Last-Event-ID", "Last-Event-ID must be the ID of a product change event");
+            }
         }
+        return ResponseEntity.ok(productChangeStream.subscribe(resumeAfter));
+    }
+
+    /**
+     * Retrieves catalog-wide product statistics.
+     *
+     * @return A ResponseEntity containing the product count, price aggregates and price histogram
+     */
+    @Operation(summary = "Get product statistics",
+            description = "Returns the product count, min/max/average price and a price histogram. The values are "
+                    + "maintained in memory as products change and do not scan the catalog.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response with the catalog statistics",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping("/stats")
+    public ResponseEntity<SuccessRes<ProductStatsRes>> getProductStats() {
+        return responseUtil.createOkResponse("Data fetched successfully", catalogStatistics.snapshot());
     }
 
     /**
      * Retrieves a product by its ID.
      *
      * @param id The ID of the product to retrieve
-     * @return A ResponseEntity containing the product details
+     * @param webRequest The current request, used to evaluate If-None-Match
+     * @return A ResponseEntity containing the product details, or 304 if the client copy is current
      */
     @Operation(summary = "Get product by ID",
             description = "Retrieves a product by its ID.",
@@ -103,23 +271,78 @@ public class ProductController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successful response with the product details",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "304", description = "Not modified, the product has not changed since the ETag was issued"),
                     @ApiResponse(responseCode = "404", description = "Product not found",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
                     @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
             })
     @GetMapping("/{id}")
-    public ResponseEntity<SuccessRes<ProductModel>> getProductById(@PathVariable Long id) {
-        Map<String, String> properties = telemetryUtil.createEndpointProperties("GET", "/api/products/" + id, id.toString());
-
-        try {
-            telemetryUtil.trackOperation("ProductDetailsRequested", properties, System.currentTimeMillis(), null);
-            Optional<ProductModel> product = productFetchService.getProductById(id);
-            return responseUtil.createOkResponse("Data fetched successfully", product.get());
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+    public ResponseEntity<SuccessRes<ProductModel>> getProductById(@PathVariable Long id, WebRequest webRequest) {
+        // A client copy matching the known version is answered without loading the product
+        Optional<Long> knownVersion = productFetchService.getKnownVersion(id);
+        if (knownVersion.isPresent()) {
+            String knownETag = ProductUtil.eTag(id, knownVersion.get());
+            if (ProductUtil.matchesIfNoneMatch(webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH), knownETag)
+                    && webRequest.checkNotModified(knownETag)) {
+                return null;
+            }
+        }
+
+        ProductModel product = productFetchService.getProductById(id).get();
+
+        String eTag = ProductUtil.eTag(product);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
         }
+        return responseUtil.createOkResponse("Data fetched successfully", product, eTag);
+    }
+
+    /**
+     * Retrieves several products by ID in one call.
+     *
+     * @param ids The IDs of the products to retrieve, comma separated
+     * @return A ResponseEntity containing the products found and the IDs that do not exist
+     */
+    @Operation(summary = "Get products by IDs",
+            description = "Retrieves several products by ID, in the order requested. IDs that do not exist are "
+                    + "listed in missingIds instead of failing the request.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response with the products found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, no IDs or too many IDs",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @GetMapping(params = "ids")
+    public ResponseEntity<SuccessRes<ProductMultiGetRes>> getProductsByIds(@RequestParam List<Long> ids) {
+        ProductMultiGetRes products = productFetchService.getProductsByIds(ids);
+        return responseUtil.createOkResponse("Data fetched successfully", products);
+    }
+
+    /**
+     * Retrieves several products by ID, for ID lists too long for a query string.
+     *
+     * @param lookup The IDs of the products to retrieve
+     * @return A ResponseEntity containing the products found and the IDs that do not exist
+     */
+    @Operation(summary = "Look up products by IDs",
+            description = "Same as GET /api/products?ids=..., with the IDs in the request body.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successful response with the products found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, no IDs or too many IDs",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, unexpected error occurred",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @PostMapping(value = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SuccessRes<ProductMultiGetRes>> lookupProducts(@RequestBody @Valid ProductLookupReq lookup) {
+        ProductMultiGetRes products = productFetchService.getProductsByIds(lookup.getIds());
+        return responseUtil.createOkResponse("Data fetched successfully", products);
     }
 
     /**
@@ -141,22 +364,42 @@ public class ProductController {
             })
     @PostMapping
     public ResponseEntity<SuccessRes<ProductModel>> createProduct(@RequestBody @Valid ProductReq product) {
-        Map<String, String> properties = telemetryUtil.createEndpointProperties("POST", "/api/products", null);
-        properties.put("productName", product.getName());
-
-        try {
-            long startTime = System.currentTimeMillis();
-            ProductModel createdProduct = productCreateService.createProduct(product);
-
-            Map<String, Double> metrics = new HashMap<>();
-            metrics.put("processingTimeMs", (double) (System.currentTimeMillis() - startTime));
-            metrics.put("productPrice", product.getPrice());
-
-            telemetryUtil.trackOperation("ProductCreated", properties, startTime, null);
-            return responseUtil.createCreatedResponse("Product created successfully", createdProduct);
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+        ProductModel createdProduct = productCreateService.createProduct(product);
+        return responseUtil.createCreatedResponse("Product created successfully", createdProduct);
+    }
+
+    /**
+     * Applies a mixed batch of create, update and delete operations in one transaction.
+     *
+     * @param request The HTTP request whose body is a JSON array of batch operations
+     * @return A ResponseEntity containing one result per operation
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(summary = "Execute product batch",
+            description = "Applies a JSON array of CREATE, UPDATE and DELETE operations in a single transaction "
+                    + "and returns the outcome of each operation.",
+            tags = {"Products"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductBatchOperationReq.class)))),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch executed, see the per-item results",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, malformed or oversized batch",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "500", description = "Internal server error, the batch was rolled back",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SuccessRes<List<ProductBatchItemRes>>> executeBatch(HttpServletRequest request) throws IOException {
+        // Parse the body incrementally so large batches are never materialized as a whole
+        try (MappingIterator<ProductBatchOperationReq> operations = objectMapper
+                .readerFor(ProductBatchOperationReq.class)
+                .readValues(request.getInputStream())) {
+            List<ProductBatchItemRes> results = productBatchService.executeBatch(operations);
+            return responseUtil.createOkResponse("Batch executed successfully", results);
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            throw new ValidationException("body", "Malformed batch request body");
         }
     }
 
@@ -165,32 +408,85 @@ public class ProductController {
      *
      * @param id The ID of the product to update
      * @param product The updated product details
+     * @param ifMatch Optional ETag of the product version being replaced
+     * @param prefer Optional Prefer header; respond-async queues the update
      * @return A ResponseEntity containing the updated product
      */
     @Operation(summary = "Update product",
-            description = "Updates an existing product with the provided details.",
+            description = "Updates an existing product with the provided details. When an If-Match header with the "
+                    + "product's ETag is sent, the update is only applied if the product has not changed since. "
+                    + "With Prefer: respond-async (and no If-Match), the update is queued, coalesced with other "
+                    + "queued updates of the product and written shortly after, if the update queue is enabled; "
+                    + "the response then has no product and a Preference-Applied header.",
             tags = {"Products"},
             responses = {
-                    @ApiResponse(responseCode = "202", description = "Successful response with the updated product",
+                    @ApiResponse(responseCode = "202", description = "Successful response with the updated product, or the update was queued",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
                     @ApiResponse(responseCode = "404", description = "Product not found",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
                     @ApiResponse(responseCode = "400", description = "Bad request, invalid input parameters",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "409", description = "Product was modified concurrently",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current product version",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
             })
     @PutMapping("/{id}")
-    public ResponseEntity<SuccessRes<ProductModel>> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductReq product) {
-        Map<String, String> properties = telemetryUtil.createEndpointProperties("PUT", "/api/products/" + id, id.toString());
-        properties.put("productName", product.getName());
-
-        try {
-            telemetryUtil.trackOperation("ProductUpdateRequested", properties, System.currentTimeMillis(), null);
-            Optional<ProductModel> updatedProduct = productUpdateService.updateProduct(id, product);
-            return responseUtil.createAcceptedResponse("Product updated successfully", updatedProduct.get());
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+    public ResponseEntity<SuccessRes<ProductModel>> updateProduct(
+            @PathVariable Long id,
+            @Valid @RequestBody ProductReq product,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        Long expectedVersion = ProductUtil.versionFromIfMatch(id, ifMatch);
+        if (expectedVersion == null && ProductUtil.prefersRespondAsync(prefer) && productUpdateService.queueProductUpdate(id, product)) {
+            SuccessRes<ProductModel> queued = responseUtil.<ProductModel>createAcceptedResponse("Product update queued", null).getBody();
+            return ResponseEntity.accepted().header("Preference-Applied", ProductUtil.RESPOND_ASYNC).body(queued);
         }
+        Optional<ProductModel> updatedProduct = expectedVersion == null
+                ? productUpdateService.updateProduct(id, product)
+                : productUpdateService.updateProduct(id, product, expectedVersion);
+        return responseUtil.createAcceptedResponse("Product updated successfully", updatedProduct.get(),
+                ProductUtil.eTag(updatedProduct.get()));
+    }
+
+    /**
+     * Partially updates an existing product with a JSON Merge Patch.
+     *
+     * @param id The ID of the product to update
+     * @param patch The merge patch document
+     * @param ifMatch Optional ETag of the product version being patched
+     * @return A ResponseEntity containing the updated product
+     */
+    @Operation(summary = "Patch product",
+            description = "Updates only the fields present in a JSON Merge Patch (RFC 7396) document, e.g. "
+                    + "{\"price\": 12.5}. Fields cannot be removed. A patch that changes nothing is not written. "
+                    + "When an If-Match header with the product's ETag is sent, the patch is only applied if the "
+                    + "product has not changed since.",
+            tags = {"Products"},
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true,
+                    content = @Content(mediaType = MERGE_PATCH_MEDIA_TYPE, schema = @Schema(implementation = ProductPatchReq.class))),
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Successful response with the updated product",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "404", description = "Product not found",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, invalid patch document",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "409", description = "Product was modified concurrently",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class))),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current product version",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<SuccessRes<ProductModel>> patchProduct(
+            @PathVariable Long id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ProductUtil.versionFromIfMatch(id, ifMatch);
+        ProductPatchReq productPatch = ProductUtil.mapMergePatch(patch);
+        Optional<ProductModel> patchedProduct = productUpdateService.patchProduct(id, productPatch, expectedVersion);
+        return responseUtil.createAcceptedResponse("Product updated successfully", patchedProduct.get(),
+                ProductUtil.eTag(patchedProduct.get()));
     }
 
     /**
@@ -212,15 +508,41 @@ public class ProductController {
             })
     @DeleteMapping("/{id}")
     public ResponseEntity<SuccessRes<Void>> deleteProduct(@PathVariable Long id) {
-        Map<String, String> properties = telemetryUtil.createEndpointProperties("DELETE", "/api/products/" + id, id.toString());
-
-        try {
-            telemetryUtil.trackOperation("ProductDeleteRequested", properties, System.currentTimeMillis(), null);
-            productDeleteService.deleteProduct(id);
-            return responseUtil.createAcceptedResponse("Product deleted successfully", null);
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+        productDeleteService.deleteProduct(id);
+        return responseUtil.createAcceptedResponse("Product deleted successfully", null);
+    }
+
+    /**
+     * Deletes several products at once, either by ID or by price range.
+     *
+     * @param ids The IDs of the products to delete
+     * @param minPrice Minimum price (inclusive) of the products to delete
+     * @param maxPrice Maximum price (inclusive) of the products to delete
+     * @return A ResponseEntity containing the number of deleted products
+     */
+    @Operation(summary = "Delete products",
+            description = "Deletes every product with one of the given IDs, or every product priced within the given "
+                    + "inclusive range. IDs that do not exist are ignored.",
+            tags = {"Products"},
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Successful response with the number of deleted products",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuccessRes.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request, neither IDs nor a price range were given, "
+                            + "or both were",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorRes.class)))
+            })
+    @DeleteMapping
+    public ResponseEntity<SuccessRes<ProductDeleteRes>> deleteProducts(@RequestParam(required = false) List<Long> ids,
+                                                                       @RequestParam(required = false) Double minPrice,
+                                                                       @RequestParam(required = false) Double maxPrice) {
+        boolean byPrice = minPrice != null || maxPrice != null;
+        if ((ids == null || ids.isEmpty()) == !byPrice) {
+            throw new ValidationException("ids", "Specify either ids or a minPrice/maxPrice range");
         }
+
+        int deleted = byPrice
+                ? productDeleteService.deleteProductsByPriceRange(minPrice, maxPrice)
+                : productDeleteService.deleteProducts(ids);
+        return responseUtil.createAcceptedResponse(deleted + " products deleted successfully", new ProductDeleteRes(deleted));
     }
-}
\ No newline at end of file
+}
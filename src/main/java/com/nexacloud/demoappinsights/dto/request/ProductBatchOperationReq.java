@@ -0,0 +1,56 @@
+package com.nexacloud.demoappinsights.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for a single operation inside a product batch.
+ *
+ * A batch body is a JSON array of these operations. Creates carry a product,
+ * updates carry an ID and a product, and deletes carry only an ID.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductBatchOperationReq {
+
+    /**
+     * Operations supported in a product batch.
+     */
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE;
+
+        /**
+         * Parses an operation name case-insensitively. Unknown names map to null so they can
+         * be reported as a failed item instead of failing the whole batch.
+         *
+         * @param value Operation name from the request
+         * @return The matching operation, or null if the name is unknown
+         */
+        @JsonCreator
+        public static Operation fromValue(String value) {
+            for (Operation operation : values()) {
+                if (operation.name().equalsIgnoreCase(value)) {
+                    return operation;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Schema(description = "Operation to perform", example = "UPDATE")
+    private Operation op;
+
+    @Schema(description = "ID of the product to update or delete", example = "1")
+    private Long id;
+
+    @Schema(description = "Product details for create and update operations")
+    private ProductReq product;
+}
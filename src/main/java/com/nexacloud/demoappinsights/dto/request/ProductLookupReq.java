@@ -0,0 +1,23 @@
+package com.nexacloud.demoappinsights.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for looking up several products by ID at once.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductLookupReq {
+    @NotEmpty(message = "At least one product ID is required")
+    @Schema(description = "IDs of the products to fetch, in the order they should be returned", example = "[3, 1, 2]")
+    private List<Long> ids;
+}
@@ -0,0 +1,28 @@
+package com.nexacloud.demoappinsights.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for partially updating a product.
+ *
+ * Built from a JSON Merge Patch (RFC 7396) document. A null field was not part of the patch and
+ * is left unchanged; product fields cannot be removed.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPatchReq {
+    @Schema(description = "New product name, omitted to keep the current one", example = "Product 1")
+    private String name;
+
+    @Schema(description = "New product description, omitted to keep the current one", example = "Product description")
+    private String description;
+
+    @Schema(description = "New product price, omitted to keep the current one", example = "10.99")
+    private Double price;
+}
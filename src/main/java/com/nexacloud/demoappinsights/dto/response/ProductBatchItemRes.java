@@ -0,0 +1,32 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a single operation inside a product batch.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of one operation in a product batch")
+public class ProductBatchItemRes {
+    @Schema(description = "Zero-based position of the operation in the request", example = "0")
+    private int index;
+
+    @Schema(description = "Operation that was requested", example = "CREATE")
+    private String op;
+
+    @Schema(description = "ID of the affected product", example = "1")
+    private Long id;
+
+    @Schema(description = "HTTP status code describing the outcome of this operation", example = "201")
+    private Integer statusCode;
+
+    @Schema(description = "Message describing the outcome of this operation")
+    private String message;
+}
@@ -0,0 +1,49 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest change of one product in the change feed, or a price range delete.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Latest change of a product, with its current state")
+public class ProductChangeRes {
+    @Schema(description = "Position of the change in the change feed", example = "42")
+    private long sequence;
+
+    @Schema(description = "Kind of change; DELETED as well for products deleted since the change", example = "UPDATED")
+    private ProductChangeEvent.ChangeType type;
+
+    @Schema(description = "ID of the changed product; null for price range deletes", example = "1")
+    private Long productId;
+
+    @Schema(description = "Date and time when the change was recorded", example = "2023-01-01T00:00:00")
+    private LocalDateTime changedAt;
+
+    @Schema(description = "Current state of the product; null for deletions (tombstones)")
+    private ProductModel product;
+
+    @Schema(description = "Inclusive lower bound of a price range delete; null for other changes and unbounded ranges",
+            example = "10.0")
+    private Double minPrice;
+
+    @Schema(description = "Inclusive upper bound of a price range delete; null for other changes and unbounded ranges",
+            example = "20.0")
+    private Double maxPrice;
+
+    public ProductChangeRes(long sequence, ProductChangeEvent.ChangeType type, Long productId, LocalDateTime changedAt,
+                            ProductModel product) {
+        this(sequence, type, productId, changedAt, product, null, null);
+    }
+}
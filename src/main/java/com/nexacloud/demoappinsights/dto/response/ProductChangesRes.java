@@ -0,0 +1,40 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import com.nexacloud.demoappinsights.util.telemetry.CountedResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of the product change feed.
+ *
+ * <p>
+ * Pass {@code nextToken} back as {@code since} to read the following changes. When
+ * {@code hasMore} is false the consumer has caught up and should poll again later with the
+ * same token.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Products changed since a change token, with the token to continue from")
+public class ProductChangesRes implements CountedResult {
+    @Schema(description = "Latest change of each product changed in this page, in change order")
+    private List<ProductChangeRes> changes;
+
+    @Schema(description = "Opaque token to pass as 'since' on the next request", example = "Y2hhbmdlOjQy")
+    private String nextToken;
+
+    @Schema(description = "Whether more changes are available right away")
+    private boolean hasMore;
+
+    @Override
+    public int resultCount() {
+        return changes != null ? changes.size() : 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a bulk product delete.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Result of a bulk product delete")
+public class ProductDeleteRes {
+    @Schema(description = "Number of products that were deleted", example = "12")
+    private int deletedCount;
+}
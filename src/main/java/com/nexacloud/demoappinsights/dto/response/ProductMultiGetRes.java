@@ -0,0 +1,32 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.util.telemetry.CountedResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products fetched by ID, in the requested order.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Products fetched by ID, with the IDs that do not exist")
+public class ProductMultiGetRes implements CountedResult {
+    @Schema(description = "Products found, in the order their IDs were requested")
+    private List<ProductModel> items;
+
+    @Schema(description = "Requested IDs that do not exist, in request order", example = "[7]")
+    private List<Long> missingIds;
+
+    @Override
+    public int resultCount() {
+        return items != null ? items.size() : 0;
+    }
+}
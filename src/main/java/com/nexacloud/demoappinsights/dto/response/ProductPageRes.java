@@ -0,0 +1,40 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.util.telemetry.CountedResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Page of products returned by the keyset-paginated listing endpoint.
+ *
+ * <p>
+ * The next page is requested by passing {@code nextCursor} back as the {@code after}
+ * query parameter. A null cursor means the last page has been reached.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Page of products with an opaque cursor to the next page")
+public class ProductPageRes implements CountedResult {
+    @Schema(description = "Products on this page")
+    private List<ProductModel> items;
+
+    @Schema(description = "Opaque cursor for the next page, null when there are no more products", example = "aWQ6NTA")
+    private String nextCursor;
+
+    @Schema(description = "Whether more products are available after this page")
+    private boolean hasMore;
+
+    @Override
+    public int resultCount() {
+        return items != null ? items.size() : 0;
+    }
+}
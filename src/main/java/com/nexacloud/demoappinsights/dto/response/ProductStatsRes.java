@@ -0,0 +1,56 @@
+package com.nexacloud.demoappinsights.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Catalog-wide product statistics.
+ *
+ * @author Priyonuj Dey
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Product count, price aggregates and price histogram of the whole catalog")
+public class ProductStatsRes {
+    @Schema(description = "Number of products", example = "120")
+    private long count;
+
+    @Schema(description = "Lowest price, null when there are no products", example = "4.99")
+    private Double minPrice;
+
+    @Schema(description = "Highest price, null when there are no products", example = "1999.00")
+    private Double maxPrice;
+
+    @Schema(description = "Average price, null when there are no products", example = "245.50")
+    private Double averagePrice;
+
+    @Schema(description = "Number of products per price range, in ascending price order")
+    private List<PriceBucket> histogram;
+
+    @Schema(description = "When the statistics were last checked against the database", example = "2023-01-01T00:00:00")
+    private LocalDateTime reconciledAt;
+
+    /**
+     * Number of products priced within [from, to).
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "Number of products priced from 'from' (inclusive) to 'to' (exclusive)")
+    public static class PriceBucket {
+        @Schema(description = "Inclusive lower bound, null for the first bucket", example = "10.0")
+        private Double from;
+
+        @Schema(description = "Exclusive upper bound, null for the last bucket", example = "50.0")
+        private Double to;
+
+        @Schema(description = "Number of products in the range", example = "42")
+        private long count;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexacloud.demoappinsights.entity;
+
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change log entry recorded for every product write, deletions included.
+ *
+ * <p>
+ * A price range delete is recorded as a single entry without a product ID, holding the deleted range.
+ * </p>
+ *
+ * <p>
+ * The sequence is taken from the {@code product_changes_seq} database sequence, so it increases with
+ * every change across every instance of the application and doubles as the position of a consumer in
+ * the change feed. Sequences of rolled back changes are never used, which leaves gaps.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Entity
+@Table(name = "product_changes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeModel {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_changes_seq")
+    @SequenceGenerator(name = "product_changes_seq", sequenceName = "product_changes_seq", allocationSize = 1)
+    private Long sequence;
+
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductChangeEvent.ChangeType type;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    private Double minPrice;
+
+    private Double maxPrice;
+}
@@ -12,10 +12,14 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
-@Table(name = "products")
+// (price, id) serves price filters and the (price, id) ordering of price listings and top-N queries
+@Table(name = "products", indexes = @Index(name = "idx_products_price_id", columnList = "price, id"))
+// UPDATE statements only set the changed columns, so partial updates do not rewrite the description
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,7 +30,8 @@ import org.hibernate.annotations.UpdateTimestamp;
  */
 public class ProductModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     @Schema(description = "Product ID " ,example = "1")
     private Long id;
 
@@ -50,4 +55,8 @@ public class ProductModel {
     @UpdateTimestamp
     @Schema(description = "Date and time when the product was last updated" ,example = "2023-01-01T00:00:00")
     private LocalDateTime updatedAt;
+
+    @Version
+    @Schema(description = "Optimistic locking version, incremented on every update" ,example = "0")
+    private Long version;
 }
@@ -0,0 +1,27 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event for a product change that has been committed and recorded in the change log.
+ *
+ * <p>
+ * Published by {@link ProductChangeLog} in sequence order, after every change with a lower
+ * sequence has been committed or rolled back. Listeners run on the committing thread and must
+ * not block.
+ * </p>
+ *
+ * @param sequence Position of the change in the change log
+ * @param type The kind of change
+ * @param productId ID of the changed product (null for range deletions)
+ * @param product State of the product after the change (null for deletions)
+ * @param changedAt When the change was recorded
+ * @param rangeDeletion The deleted price range (only for range deletions)
+ * @author Priyonuj Dey
+ */
+public record CommittedProductChange(long sequence, ProductChangeEvent.ChangeType type, Long productId,
+                                     ProductModel product, LocalDateTime changedAt,
+                                     ProductChangeEvent.RangeDeletion rangeDeletion) {
+}
@@ -0,0 +1,80 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+
+/**
+ * Application event describing a committed change to a product.
+ *
+ * <p>
+ * Published by the write services through {@link ProductChangePublisher}. Listeners that
+ * keep derived state (caches, snapshots, counters) should use
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT, fallbackExecution = true)} so they
+ * only observe changes that were actually committed.
+ * </p>
+ *
+ * <p>
+ * A price range delete is published as a single {@link ChangeType#RANGE_DELETED} event, without a
+ * product ID. It only carries the deleted price range, because the products are removed with a single
+statement without reading them first; listeners remove whatever they hold within that range.
+ * </p>
+ *
+ * @param type The kind of change
+ * @param productId ID of the changed product (null for range deletions)
+ * @param product State of the product after the change (null for deletions)
+ * @param rangeDeletion The deleted price range (only for range deletions)
+ * @author Priyonuj Dey
+ */
+public record ProductChangeEvent(ChangeType type, Long productId, ProductModel product, RangeDeletion rangeDeletion) {
+
+    public ProductChangeEvent(ChangeType type, Long productId, ProductModel product) {
+        this(type, productId, product, null);
+    }
+
+    /**
+     * @return Whether the change removed products from the catalog
+     */
+    public boolean isDeletion() {
+        return type == ChangeType.DELETED || type == ChangeType.RANGE_DELETED;
+    }
+
+    /**
+     * Kinds of product changes.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RANGE_DELETED
+    }
+
+    /**
+     * Price range removed by one price range delete.
+     *
+     * @param minPrice Inclusive lower bound of the deleted range (null for no lower bound)
+     * @param maxPrice Inclusive upper bound of the deleted range (null for no upper bound)
+     */
+    public record RangeDeletion(Double minPrice, Double maxPrice) {
+
+        /**
+         * @return The inclusive lower bound, or the lowest price if the range is open
+         */
+        public double lowerBound() {
+            return minPrice != null ? minPrice : -Double.MAX_VALUE;
+        }
+
+        /**
+         * @return The inclusive upper bound, or the highest price if the range is open
+         */
+        public double upperBound() {
+            return maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        }
+
+        /**
+         * @param price A product price
+         * @return Whether a product with that price was deleted
+         */
+        public boolean includes(Double price) {
+            return price != null && price >= lowerBound() && price <= upperBound();
+        }
+    }
+}
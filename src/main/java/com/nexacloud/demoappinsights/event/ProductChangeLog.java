@@ -0,0 +1,173 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.entity.ProductChangeModel;
+import com.nexacloud.demoappinsights.repository.ProductChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Records every product change in the {@code product_changes} table, in the transaction of the change.
+ *
+ * <p>
+ * Sequences come from a database sequence, so they are unique across instances, but transactions
+ * do not commit in sequence order: a change with sequence 7 can be committed while the one with
+ * sequence 6 is still in flight. A consumer that read up to 7 would then never see 6. The change
+ * feed is therefore only read up to {@link #visibleSequence()}, a watermark derived from the
+ * committed rows: it advances over consecutive sequences and stops at the first gap. A gap left by
+ * a change of this instance is skipped as soon as that change has rolled back; any other gap (a
+ * change of another instance, or one that rolled back there) is skipped once it has been open for
+ * {@code product.changes.gap-timeout}.
+ * </p>
+ *
+ * <p>
+ * Committed changes of this instance are also published as {@link CommittedProductChange} events,
+ * in sequence order, once every earlier change of this instance has completed.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class ProductChangeLog {
+
+    private static final int WATERMARK_SCAN_SIZE = 1000;
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final long gapTimeoutNanos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Guarded by this
+    private final NavigableSet<Long> uncommitted = new TreeSet<>();
+    private final NavigableSet<Long> rolledBack = new TreeSet<>();
+    private final NavigableMap<Long, CommittedProductChange> committed = new TreeMap<>();
+
+    // Guarded by watermarkLock
+    private final Object watermarkLock = new Object();
+    private long watermark;
+    private long gapStart;
+    private long gapSeenAt;
+
+    public ProductChangeLog(ProductChangeRepository productChangeRepository,
+                            ApplicationEventPublisher applicationEventPublisher,
+                            @Value("${product.changes.gap-timeout:10s}") Duration gapTimeout) {
+        this.productChangeRepository = productChangeRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    /**
+     * Starts the watermark after the last recorded change.
+     */
+    @PostConstruct
+    public void init() {
+        synchronized (watermarkLock) {
+            watermark = productChangeRepository.findMaxSequence();
+        }
+    }
+
+    /**
+     * Records a product change. Must run inside the transaction that makes the change, so the log
+     * entry is committed or rolled back together with it.
+     *
+     * @param event The product change
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ProductChangeEvent event) {
+        LocalDateTime changedAt = LocalDateTime.now();
+        ProductChangeEvent.RangeDeletion range = event.rangeDeletion();
+        ProductChangeModel change = new ProductChangeModel(null, event.productId(), event.type(), changedAt,
+                range != null ? range.minPrice() : null, range != null ? range.maxPrice() : null);
+        synchronized (this) {
+            // Taking the sequence and registering it together, so no later sequence can be published before it is known
+            entityManager.persist(change);
+            uncommitted.add(change.getSequence());
+        }
+
+        long sequence = change.getSequence();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(sequence, status == STATUS_COMMITTED
+                        ? new CommittedProductChange(sequence, event.type(), event.productId(), event.product(), changedAt,
+                        event.rangeDeletion())
+                        : null);
+            }
+        });
+    }
+
+    /**
+     * Advances the watermark over the committed changes and returns it.
+     *
+     * @return The highest sequence below which every change has been committed or abandoned
+     */
+    public long visibleSequence() {
+        synchronized (watermarkLock) {
+            List<Long> sequences;
+            do {
+                sequences = productChangeRepository.findSequencesAfter(watermark, Limit.of(WATERMARK_SCAN_SIZE));
+                for (long sequence : sequences) {
+                    if (sequence > watermark + 1 && !gapAbandoned(watermark + 1, sequence - 1)) {
+                        return watermark;
+                    }
+                    watermark = sequence;
+                }
+            } while (sequences.size() == WATERMARK_SCAN_SIZE);
+            return watermark;
+        }
+    }
+
+    private boolean gapAbandoned(long from, long to) {
+        synchronized (this) {
+            if (!uncommitted.subSet(from, true, to, true).isEmpty()) {
+                return false;
+            }
+            NavigableSet<Long> rolledBackInGap = rolledBack.subSet(from, true, to, true);
+            if (rolledBackInGap.size() == to - from + 1) {
+                rolledBack.headSet(to, true).clear();
+                return true;
+            }
+        }
+
+        long now = System.nanoTime();
+        if (gapStart != from) {
+            gapStart = from;
+            gapSeenAt = now;
+            return false;
+        }
+        return now - gapSeenAt >= gapTimeoutNanos;
+    }
+
+    private synchronized void completed(long sequence, CommittedProductChange change) {
+        uncommitted.remove(sequence);
+        if (change != null) {
+            committed.put(sequence, change);
+        } else {
+            rolledBack.add(sequence);
+        }
+        // Listeners only enqueue, so publishing while holding the lock keeps the order without blocking writers
+        while (!committed.isEmpty() && (uncommitted.isEmpty() || committed.firstKey() < uncommitted.first())) {
+            applicationEventPublisher.publishEvent(committed.pollFirstEntry().getValue());
+        }
+    }
+}
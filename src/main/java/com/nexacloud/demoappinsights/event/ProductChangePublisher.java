@@ -0,0 +1,59 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@link ProductChangeEvent}s for every write to the product catalog.
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductChangePublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Publishes the creation of a product.
+     *
+     * @param product The created product
+     */
+    public void created(ProductModel product) {
+        applicationEventPublisher.publishEvent(
+                new ProductChangeEvent(ProductChangeEvent.ChangeType.CREATED, product.getId(), product));
+    }
+
+    /**
+     * Publishes the update of a product.
+     *
+     * @param product The product after the update
+     */
+    public void updated(ProductModel product) {
+        applicationEventPublisher.publishEvent(
+                new ProductChangeEvent(ProductChangeEvent.ChangeType.UPDATED, product.getId(), product));
+    }
+
+    /**
+     * Publishes the deletion of a product.
+     *
+     * @param id ID of the deleted product
+     */
+    public void deleted(Long id) {
+        applicationEventPublisher.publishEvent(
+                new ProductChangeEvent(ProductChangeEvent.ChangeType.DELETED, id, null));
+    }
+
+    /**
+     * Publishes the deletion of every product within a price range, as a single change.
+     *
+     * @param minPrice Inclusive lower bound of the deleted range (null for no lower bound)
+     * @param maxPrice Inclusive upper bound of the deleted range (null for no upper bound)
+     */
+    public void deletedRange(Double minPrice, Double maxPrice) {
+        applicationEventPublisher.publishEvent(new ProductChangeEvent(ProductChangeEvent.ChangeType.RANGE_DELETED,
+                null, null, new ProductChangeEvent.RangeDeletion(minPrice, maxPrice)));
+    }
+}
@@ -0,0 +1,349 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.dto.response.ProductChangeRes;
+import com.nexacloud.demoappinsights.dto.response.ProductChangesRes;
+import com.nexacloud.demoappinsights.exception.ServiceOverloadedException;
+import com.nexacloud.demoappinsights.service.interfaces.product.ProductFetchService;
+import com.nexacloud.demoappinsights.util.CursorUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed product changes out to Server-Sent Events subscribers.
+ *
+ * <p>
+ * Subscribers are asynchronous requests ({@link SseEmitter}), so an idle subscriber holds a
+ * connection but no thread. Publishing a change only appends it to each subscriber's bounded
+ * buffer; a small pool of sender threads drains the buffers and does the socket writes, so a
+ * subscriber that reads slowly never holds up the writer that committed the change or the other
+ * subscribers. A subscriber whose buffer is full is disconnected; it can reconnect with the
+ * {@code Last-Event-ID} of the last change it received and resume from there.
+ * </p>
+ *
+ * <p>
+ * Resuming replays the changes after that ID from the change log (one event per changed product,
+ * with its current state), up to the buffer size. A subscriber further behind than that receives a
+ * {@code resync} event with a change feed token and is disconnected, and should catch up through
+ * {@code GET /api/products/changes} before subscribing again.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Slf4j
+@Component
+public class ProductChangeStream implements MeterBinder {
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final ProductFetchService productFetchService;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int senderThreads;
+    private final long timeoutMs;
+    private final long heartbeatMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder slowDisconnects = new LongAdder();
+    private ExecutorService senders;
+    private ScheduledExecutorService heartbeats;
+
+    public ProductChangeStream(ProductFetchService productFetchService,
+                               @Value("${product.changes.stream.buffer-size:1000}") int bufferSize,
+                               @Value("${product.changes.stream.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${product.changes.stream.sender-threads:4}") int senderThreads,
+                               @Value("${product.changes.stream.timeout:30m}") Duration timeout,
+                               @Value("${product.changes.stream.heartbeat:15s}") Duration heartbeat) {
+        this.productFetchService = productFetchService;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.senderThreads = senderThreads;
+        this.timeoutMs = timeout.toMillis();
+        this.heartbeatMs = heartbeat.toMillis();
+    }
+
+    /**
+     * Starts the sender threads and the heartbeat that keeps idle connections open through proxies.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "product-change-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (heartbeatMs > 0) {
+            heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "product-change-stream-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops sending and closes every subscription.
+     */
+    @PreDestroy
+    public void stop() {
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        senders.shutdownNow();
+        subscribers.forEach(this::close);
+    }
+
+    /**
+     * Opens a subscription.
+     *
+     * @param lastEventId ID of the last change the client received, to resume after it (optional)
+     * @return The emitter to return from the controller
+     * @throws ServiceOverloadedException if the maximum number of subscribers has been reached
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceOverloadedException("change stream subscribers", Math.max(1, heartbeatMs / 1000));
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(error -> close(subscriber));
+        subscribers.add(subscriber);
+
+        if (lastEventId != null) {
+            replay(subscriber, lastEventId);
+        }
+        // Sends the response headers right away, so the client knows the subscription is open
+        if (subscriber.offerHeartbeat()) {
+            schedule(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Appends a committed change to every subscriber's buffer.
+     *
+     * @param change The committed change
+     */
+    @EventListener
+    public void onCommittedChange(CommittedProductChange change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ProductChangeEvent.RangeDeletion range = change.rangeDeletion();
+        ProductChangeRes event = new ProductChangeRes(change.sequence(), change.type(), change.productId(),
+                change.changedAt(), change.product(), range != null ? range.minPrice() : null,
+                range != null ? range.maxPrice() : null);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(event)) {
+                schedule(subscriber);
+            } else {
+                slowDisconnects.increment();
+                close(subscriber);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.changes.stream.subscribers", subscribers, Set::size)
+                .description("Open product change stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("product.changes.stream.sent", sent, LongAdder::sum)
+                .description("Product change events sent to subscribers")
+                .register(registry);
+        FunctionCounter.builder("product.changes.stream.slow.disconnects", slowDisconnects, LongAdder::sum)
+                .description("Subscribers disconnected because their buffer was full")
+                .register(registry);
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        List<ProductChangeRes> missed = new ArrayList<>();
+        String token = CursorUtil.encodeChangeToken(lastEventId);
+        boolean hasMore = true;
+        while (hasMore && missed.size() < bufferSize) {
+            ProductChangesRes page = productFetchService.getChanges(token, REPLAY_PAGE_SIZE);
+            missed.addAll(page.getChanges());
+            token = page.getNextToken();
+            hasMore = page.isHasMore();
+        }
+
+        if (hasMore || missed.size() > bufferSize) {
+            String resumeToken = CursorUtil.encodeChangeToken(lastEventId);
+            subscriber.finishReplay(List.of(), new Resync(resumeToken));
+        } else {
+            subscriber.finishReplay(missed, null);
+        }
+        schedule(subscriber);
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offerHeartbeat()) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+                close(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Object item = subscriber.poll();
+            if (item == null) {
+                subscriber.draining.set(false);
+                // An item may have been added after the poll but before the flag was cleared
+                if (subscriber.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (item instanceof ProductChangeRes change) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(String.valueOf(change.getSequence()))
+                            .name(change.getType().name())
+                            .data(change, MediaType.APPLICATION_JSON));
+                    sent.increment();
+                } else if (item instanceof Resync resync) {
+                    subscriber.emitter.send(SseEmitter.event().name("resync").data(resync, MediaType.APPLICATION_JSON));
+                    close(subscriber);
+                    return;
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Product change subscriber disconnected: {}", e.getMessage());
+                close(subscriber);
+                return;
+            }
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException e) {
+            // Already completed
+        }
+    }
+
+    /**
+     * Tells a subscriber that is too far behind to catch up through the change feed.
+     *
+     * @param since Change feed token to continue from
+     */
+    private record Resync(String since) {
+    }
+
+    /**
+     * Bounded buffer of one subscriber. Changes published while the subscriber is replaying are
+     * held back and appended after the replayed ones, skipping those the replay already covered.
+     */
+    private final class Subscriber {
+
+        private static final Object HEARTBEAT = new Object();
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Guarded by this
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        private ArrayDeque<ProductChangeRes> heldBack;
+        private long lastSequence;
+
+        private Subscriber(SseEmitter emitter, boolean replaying) {
+            this.emitter = emitter;
+            this.heldBack = replaying ? new ArrayDeque<>() : null;
+        }
+
+        private synchronized boolean offer(ProductChangeRes change) {
+            ArrayDeque<?> target = heldBack != null ? heldBack : buffer;
+            if (target.size() >= bufferSize) {
+                return false;
+            }
+            if (heldBack != null) {
+                heldBack.add(change);
+            } else if (change.getSequence() > lastSequence) {
+                buffer.add(change);
+                lastSequence = change.getSequence();
+            }
+            return true;
+        }
+
+        private synchronized boolean offerHeartbeat() {
+            if (heldBack != null || !buffer.isEmpty()) {
+                return false;
+            }
+            buffer.add(HEARTBEAT);
+            return true;
+        }
+
+        private synchronized void finishReplay(List<ProductChangeRes> missed, Resync resync) {
+            if (resync != null) {
+                buffer.add(resync);
+                heldBack = null;
+                return;
+            }
+            buffer.addAll(missed);
+            if (!missed.isEmpty()) {
+                lastSequence = missed.get(missed.size() - 1).getSequence();
+            }
+            ArrayDeque<ProductChangeRes> live = heldBack;
+            heldBack = null;
+            for (ProductChangeRes change : live) {
+                if (change.getSequence() > lastSequence) {
+                    buffer.add(change);
+                    lastSequence = change.getSequence();
+                }
+            }
+        }
+
+        private synchronized Object poll() {
+            return buffer.poll();
+        }
+
+        private synchronized boolean isEmpty() {
+            return buffer.isEmpty();
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.nexacloud.demoappinsights.exception;
 /**
  * @author Priyonuj Dey
  */
-import com.microsoft.applicationinsights.TelemetryClient;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
@@ -13,6 +12,12 @@ import java.util.Map;
 /**
  * Base exception class that automatically tracks exceptions in Application Insights.
  * Provides common functionality for all application-specific exceptions.
+ *
+ * <p>
+ * Expected business outcomes (not found, invalid input, ...) are created without a stack trace:
+ * they are part of normal traffic, their origin is carried by the telemetry properties, and walking
+ * the stack for each of them is the most expensive part of throwing.
+ * </p>
  */
 @Getter
 public abstract class BaseAppInsightsException extends RuntimeException {
@@ -31,6 +36,19 @@ public abstract class BaseAppInsightsException extends RuntimeException {
         this.httpStatus = httpStatus;
     }
 
+    /**
+     * Creates a new exception with the given message and HTTP status, optionally without capturing
+     * a stack trace.
+     *
+     * @param message The error message
+     * @param httpStatus The HTTP status code to return
+     * @param captureStackTrace Whether to capture the stack trace
+     */
+    protected BaseAppInsightsException(String message, HttpStatus httpStatus, boolean captureStackTrace) {
+        super(message, null, captureStackTrace, captureStackTrace);
+        this.httpStatus = httpStatus;
+    }
+
     /**
      * Creates a new exception with the given message, cause, and HTTP status.
      *
@@ -54,13 +72,4 @@ public abstract class BaseAppInsightsException extends RuntimeException {
         this.properties.put(key, value);
         return this;
     }
-
-    /**
-     * Tracks this exception in Application Insights.
-     *
-     * @param telemetryClient The Application Insights telemetry client
-     */
-    public void track(TelemetryClient telemetryClient) {
-        telemetryClient.trackException(this, this.properties, null);
-    }
 }
\ No newline at end of file
@@ -9,11 +9,12 @@ import org.springframework.http.HttpStatus;
 /**
  * Exception thrown when a business rule is violated.
  * Will result in a 409 Conflict HTTP response.
+ * Created without a stack trace, see {@link BaseAppInsightsException}.
  */
 public class BusinessRuleViolationException extends BaseAppInsightsException {
 
     public BusinessRuleViolationException(String message) {
-        super(message, HttpStatus.CONFLICT);
+        super(message, HttpStatus.CONFLICT, false);
         withProperty("businessRule", "violated");
     }
 }
\ No newline at end of file
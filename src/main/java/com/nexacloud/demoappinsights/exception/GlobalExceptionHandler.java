@@ -3,11 +3,15 @@ package com.nexacloud.demoappinsights.exception;
 import com.nexacloud.demoappinsights.dto.response.ErrorRes;
 import com.nexacloud.demoappinsights.util.TelemetryUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,7 +41,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BaseAppInsightsException.class)
     public ResponseEntity<ErrorRes> handleBaseAppInsightsException(BaseAppInsightsException ex) {
         // Track the exception in Application Insights
-        ex.track(null); // The exception tracks itself
+        telemetryUtil.trackException(ex, ex.getProperties());
 
         // Get exception type name (without package prefix)
         String exceptionType = ex.getClass().getSimpleName();
@@ -52,6 +56,62 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getHttpStatus());
     }
 
+    /**
+     * Handles requests turned away by the concurrency limiter.
+     *
+     * @param ex The ServiceOverloadedException
+     * @return ResponseEntity with a 503 status and a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorRes> handleServiceOverloaded(ServiceOverloadedException ex) {
+        ResponseEntity<ErrorRes> response = handleBaseAppInsightsException(ex);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles lost updates detected by the entity version check when a product is saved.
+     *
+     * @param ex The optimistic locking failure
+     * @return ResponseEntity with a 409 Conflict status
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorRes> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("errorType", "OptimisticLockingFailure");
+        properties.put("entity", String.valueOf(ex.getPersistentClassName()));
+        properties.put("entityId", String.valueOf(ex.getIdentifier()));
+        telemetryUtil.trackEvent("ConcurrentModificationDetected", properties);
+
+        ErrorRes errorResponse = new ErrorRes(
+                "ConcurrentModificationException: The resource was modified by another request",
+                HttpStatus.CONFLICT.getReasonPhrase(),
+                HttpStatus.CONFLICT.toString()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles exceptions that already carry an HTTP status, such as invalid actuator requests.
+     *
+     * @param ex The ResponseStatusException
+     * @return ResponseEntity with the exception's status code
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorRes> handleResponseStatusException(ResponseStatusException ex) {
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+
+        ErrorRes errorResponse = new ErrorRes(
+                ex.getClass().getSimpleName() + ": " + ex.getReason(),
+                status.getReasonPhrase(),
+                status.toString()
+        );
+
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorRes> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -67,7 +127,7 @@ public class GlobalExceptionHandler {
         properties.put("errorCount", String.valueOf(errors.size()));
         properties.put("fields", errors.keySet().stream().collect(Collectors.joining(",")));
 
-        telemetryUtil.trackOperation("RequestValidationFailed", properties, System.currentTimeMillis(), null);
+        telemetryUtil.trackEvent("RequestValidationFailed", properties);
 
         // Compose a single validation error message with exception type
         String message = "ValidationException: Validation failed for fields: " + String.join(", ", errors.keySet());
@@ -0,0 +1,26 @@
+package com.nexacloud.demoappinsights.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a conditional request header (such as If-Match) does not match
+ * the current state of the resource.
+ * Will result in a 412 Precondition Failed HTTP response.
+ * Created without a stack trace, see {@link BaseAppInsightsException}.
+ */
+@Getter
+public class PreconditionFailedException extends BaseAppInsightsException {
+
+    private final String resourceType;
+    private final String resourceId;
+
+    public PreconditionFailedException(String resourceType, String resourceId) {
+        super(String.format("%s with ID %s has been modified by another request", resourceType, resourceId),
+                HttpStatus.PRECONDITION_FAILED, false);
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+        withProperty("resourceType", resourceType);
+        withProperty("resourceId", resourceId);
+    }
+}
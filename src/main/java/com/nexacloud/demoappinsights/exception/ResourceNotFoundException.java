@@ -6,6 +6,7 @@ import org.springframework.http.HttpStatus;
 /**
  * Exception thrown when a requested resource is not found.
  * Will result in a 404 Not Found HTTP response.
+ * Created without a stack trace, see {@link BaseAppInsightsException}.
  */
 @Getter
 public class ResourceNotFoundException extends BaseAppInsightsException {
@@ -14,7 +15,7 @@ public class ResourceNotFoundException extends BaseAppInsightsException {
     private final String resourceId;
 
     public ResourceNotFoundException(String resourceType, String resourceId) {
-        super(String.format("%s with ID %s not found", resourceType, resourceId), HttpStatus.NOT_FOUND);
+        super(String.format("%s with ID %s not found", resourceType, resourceId), HttpStatus.NOT_FOUND, false);
         this.resourceType = resourceType;
         this.resourceId = resourceId;
         withProperty("resourceType", resourceType);
@@ -0,0 +1,24 @@
+package com.nexacloud.demoappinsights.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request is turned away because the service is at its concurrency limit.
+ * Will result in a 503 Service Unavailable HTTP response with a Retry-After header.
+ * Created without a stack trace, see {@link BaseAppInsightsException}.
+ */
+@Getter
+public class ServiceOverloadedException extends BaseAppInsightsException {
+
+    private final String limiter;
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String limiter, long retryAfterSeconds) {
+        super(String.format("Too many concurrent %s, retry in %d s", limiter, retryAfterSeconds),
+                HttpStatus.SERVICE_UNAVAILABLE, false);
+        this.limiter = limiter;
+        this.retryAfterSeconds = retryAfterSeconds;
+        withProperty("limiter", limiter);
+    }
+}
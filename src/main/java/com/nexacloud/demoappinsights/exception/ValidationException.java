@@ -9,15 +9,16 @@ import org.springframework.http.HttpStatus;
 /**
  * Exception thrown when a validation error occurs.
  * Will result in a 400 Bad Request HTTP response.
+ * Created without a stack trace, see {@link BaseAppInsightsException}.
  */
 public class ValidationException extends BaseAppInsightsException {
 
     public ValidationException(String message) {
-        super(message, HttpStatus.BAD_REQUEST);
+        super(message, HttpStatus.BAD_REQUEST, false);
     }
 
     public ValidationException(String field, String message) {
-        super(message, HttpStatus.BAD_REQUEST);
+        super(message, HttpStatus.BAD_REQUEST, false);
         withProperty("field", field);
         withProperty("validationError", message);
     }
@@ -0,0 +1,38 @@
+package com.nexacloud.demoappinsights.repository;
+
+import com.nexacloud.demoappinsights.entity.ProductChangeModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Product change log repository interface
+ *
+ * @author Priyonuj Dey
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChangeModel, Long> {
+
+    /**
+     * Seeks the changes recorded after the given sequence, up to an inclusive upper bound, in sequence order.
+     */
+    List<ProductChangeModel> findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(Long afterSequence,
+                                                                                               Long maxSequence,
+                                                                                               Limit limit);
+
+    /**
+     * Returns up to {@code limit} committed sequences after the given one, in ascending order.
+     */
+    @Query("select c.sequence from ProductChangeModel c where c.sequence > :afterSequence order by c.sequence")
+    List<Long> findSequencesAfter(@Param("afterSequence") long afterSequence, Limit limit);
+
+    /**
+     * Returns the highest recorded sequence, or 0 if the log is empty.
+     */
+    @Query("select coalesce(max(c.sequence), 0) from ProductChangeModel c")
+    long findMaxSequence();
+}
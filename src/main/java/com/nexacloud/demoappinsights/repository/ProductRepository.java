@@ -1,10 +1,21 @@
 package com.nexacloud.demoappinsights.repository;
 
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Product repository interface
@@ -14,5 +25,149 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<ProductModel, Long> {
 
+    /**
+     * JDBC fetch size used when streaming the catalog.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
     List<ProductModel> findByPriceGreaterThanEqual(Double minPrice);
-}
\ No newline at end of file
+
+    /**
+     * Seeks the first page of products ordered by ID.
+     */
+    List<ProductModel> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Seeks the page of products that follows the given ID.
+     */
+    List<ProductModel> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Seeks the first page of products at or above a minimum price, ordered by price and ID.
+     */
+    List<ProductModel> findByPriceGreaterThanEqualOrderByPriceAscIdAsc(Double minPrice, Limit limit);
+
+    /**
+     * Returns the cheapest products within an inclusive price range, ordered by price and ID.
+     */
+    List<ProductModel> findByPriceBetweenOrderByPriceAscIdAsc(Double minPrice, Double maxPrice, Limit limit);
+
+    /**
+     * Returns the most expensive products within an inclusive price range, ordered by price and ID descending.
+     */
+    List<ProductModel> findByPriceBetweenOrderByPriceDescIdDesc(Double minPrice, Double maxPrice, Limit limit);
+
+    /**
+     * Seeks the page of products at or above a minimum price that follows the given (price, id) position.
+     */
+    @Query("""
+            select p from ProductModel p
+            where p.price >= :minPrice
+              and (p.price > :afterPrice or (p.price = :afterPrice and p.id > :afterId))
+            order by p.price asc, p.id asc
+            """)
+    List<ProductModel> findPriceSeekPage(@Param("minPrice") Double minPrice,
+                                         @Param("afterPrice") Double afterPrice,
+                                         @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    /**
+     * Updates a product in a single statement if its version still matches, incrementing the version.
+     *
+     * @return Number of updated rows (0 if the product does not exist or its version has changed)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update ProductModel p
+            set p.name = :name, p.description = :description, p.price = :price,
+                p.updatedAt = :updatedAt, p.version = p.version + 1
+            where p.id = :id and p.version = :version
+            """)
+    int updateIfVersionMatches(@Param("id") Long id,
+                               @Param("version") Long version,
+                               @Param("name") String name,
+                               @Param("description") String description,
+                               @Param("price") Double price,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Deletes a product in a single statement, without loading it first.
+     *
+     * @return Number of deleted rows (0 if the product does not exist)
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from ProductModel p where p.id = :id")
+    int deleteProductById(@Param("id") Long id);
+
+    /**
+     * Deletes every product with one of the given IDs in a single statement.
+     *
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("delete from ProductModel p where p.id in :ids")
+    int deleteProductsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes every product priced within the given inclusive range, in a single statement.
+     *
+     * @param minPrice Inclusive lower bound
+     * @param maxPrice Inclusive upper bound
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("delete from ProductModel p where p.price between :minPrice and :maxPrice")
+    int deleteProductsByPriceBetween(@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice);
+
+    /**
+     * Returns the ID and price of every product, for rebuilding in-memory price statistics.
+     * Scans the whole table and holds the result in memory.
+     */
+    @Query("select p.id as id, p.price as price from ProductModel p")
+    List<ProductPrice> findAllPrices();
+
+    /**
+     * Aggregates the count, minimum, maximum and sum of all product prices in a single query.
+     */
+    @Query("""
+            select count(p) as count, min(p.price) as minPrice, max(p.price) as maxPrice, sum(p.price) as totalPrice
+            from ProductModel p
+            """)
+    PriceSummary summarizePrices();
+
+    /**
+     * Streams every product ordered by ID, reading rows from the JDBC cursor in fetch-size chunks.
+     * Entities are loaded read-only so Hibernate keeps no dirty-checking snapshots for them.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from ProductModel p order by p.id asc")
+    Stream<ProductModel> streamAllByOrderByIdAsc();
+
+    /**
+     * ID and price of a product.
+     */
+    interface ProductPrice {
+        Long getId();
+
+        Double getPrice();
+    }
+
+    /**
+     * Catalog-wide price aggregates; the price values are null when there are no products.
+     */
+    interface PriceSummary {
+        Long getCount();
+
+        Double getMinPrice();
+
+        Double getMaxPrice();
+
+        Double getTotalPrice();
+    }
+}
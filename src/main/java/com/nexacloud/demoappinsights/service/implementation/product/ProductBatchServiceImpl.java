@@ -0,0 +1,171 @@
+package com.nexacloud.demoappinsights.service.implementation.product;
+
+import com.nexacloud.demoappinsights.dto.request.ProductBatchOperationReq;
+import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.dto.response.ProductBatchItemRes;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
+import com.nexacloud.demoappinsights.exception.ValidationException;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import com.nexacloud.demoappinsights.service.interfaces.product.ProductBatchService;
+import com.nexacloud.demoappinsights.util.ProductUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ProductBatchServiceImpl class
+ *
+ * <p>
+ * This class implements the ProductBatchService interface. Operations are applied in chunks
+ * the size of the Hibernate JDBC batch: the products referenced by a chunk's updates and deletes
+ * are loaded with one IN query, the chunk is applied, and the persistence context is flushed
+ * (as batched INSERT, UPDATE and DELETE statements) and cleared before the next chunk is read.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductBatchServiceImpl implements ProductBatchService {
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ProductChangePublisher productChangePublisher;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int chunkSize;
+
+    @Value("${product.batch.max-operations:10000}")
+    private int maxOperations;
+
+    /**
+     * Executes a batch of product operations in a single transaction.
+     *
+     * @param operations The operations to apply, in request order
+     * @return One result per operation, in request order
+     */
+    @Override
+    @Transactional
+    @TrackedOperation("ProductBatchExecuted")
+    public List<ProductBatchItemRes> executeBatch(Iterator<ProductBatchOperationReq> operations) {
+        List<ProductBatchItemRes> results = new ArrayList<>();
+        List<ProductBatchOperationReq> chunk = new ArrayList<>(chunkSize);
+
+        while (operations.hasNext()) {
+            if (results.size() + chunk.size() >= maxOperations) {
+                throw new ValidationException("operations", "A batch may contain at most " + maxOperations + " operations");
+            }
+            chunk.add(operations.next());
+            if (chunk.size() == chunkSize) {
+                applyChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, results);
+        }
+        return results;
+    }
+
+    private void applyChunk(List<ProductBatchOperationReq> chunk, List<ProductBatchItemRes> results) {
+        Set<Long> referencedIds = chunk.stream()
+                .filter(operation -> operation.getOp() == ProductBatchOperationReq.Operation.UPDATE
+                        || operation.getOp() == ProductBatchOperationReq.Operation.DELETE)
+                .map(ProductBatchOperationReq::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, ProductModel> existing = productRepository.findAllById(referencedIds).stream()
+                .collect(Collectors.toMap(ProductModel::getId, Function.identity()));
+
+        for (ProductBatchOperationReq operation : chunk) {
+            results.add(apply(results.size(), operation, existing));
+        }
+
+        productRepository.flush();
+        entityManager.clear();
+    }
+
+    private ProductBatchItemRes apply(int index, ProductBatchOperationReq operation, Map<Long, ProductModel> existing) {
+        if (operation == null || operation.getOp() == null) {
+            return result(index, null, null, HttpStatus.BAD_REQUEST, "Operation must be one of CREATE, UPDATE or DELETE");
+        }
+
+        String op = operation.getOp().name();
+        Long id = operation.getId();
+
+        switch (operation.getOp()) {
+            case CREATE -> {
+                String violation = validate(operation.getProduct());
+                if (violation != null) {
+                    return result(index, op, null, HttpStatus.BAD_REQUEST, violation);
+                }
+                ProductModel created = productRepository.save(ProductUtil.mapToProductModel(operation.getProduct()));
+                productChangePublisher.created(created);
+                return result(index, op, created.getId(), HttpStatus.CREATED, "Product created successfully");
+            }
+            case UPDATE -> {
+                if (id == null) {
+                    return result(index, op, null, HttpStatus.BAD_REQUEST, "Product ID is required");
+                }
+                String violation = validate(operation.getProduct());
+                if (violation != null) {
+                    return result(index, op, id, HttpStatus.BAD_REQUEST, violation);
+                }
+                ProductModel product = existing.get(id);
+                if (product == null) {
+                    return result(index, op, id, HttpStatus.NOT_FOUND, "Product with ID " + id + " not found");
+                }
+                ProductUtil.updateProductFields(product, operation.getProduct());
+                productChangePublisher.updated(product);
+                return result(index, op, id, HttpStatus.OK, "Product updated successfully");
+            }
+            default -> {
+                if (id == null) {
+                    return result(index, op, null, HttpStatus.BAD_REQUEST, "Product ID is required");
+                }
+                ProductModel product = existing.remove(id);
+                if (product == null) {
+                    return result(index, op, id, HttpStatus.NOT_FOUND, "Product with ID " + id + " not found");
+                }
+                productRepository.delete(product);
+                productChangePublisher.deleted(id);
+                return result(index, op, id, HttpStatus.OK, "Product deleted successfully");
+            }
+        }
+    }
+
+    private String validate(ProductReq product) {
+        if (product == null) {
+            return "Product details are required";
+        }
+        Set<ConstraintViolation<ProductReq>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private ProductBatchItemRes result(int index, String op, Long id, HttpStatus status, String message) {
+        return new ProductBatchItemRes(index, op, id, status.value(), message);
+    }
+}
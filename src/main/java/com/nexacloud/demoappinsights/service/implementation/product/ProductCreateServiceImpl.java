@@ -2,16 +2,15 @@ package com.nexacloud.demoappinsights.service.implementation.product;
 
 import com.nexacloud.demoappinsights.dto.request.ProductReq;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
 import com.nexacloud.demoappinsights.exception.ValidationException;
 import com.nexacloud.demoappinsights.repository.ProductRepository;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductCreateService;
 import com.nexacloud.demoappinsights.util.ProductUtil;
-import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * ProductCreateServiceImpl class
@@ -27,7 +26,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ProductCreateServiceImpl implements ProductCreateService {
     private final ProductRepository productRepository;
-    private final TelemetryUtil telemetryUtil;
+    private final ProductChangePublisher productChangePublisher;
 
 
     /**
@@ -42,35 +41,17 @@ public class ProductCreateServiceImpl implements ProductCreateService {
      * @return A new ProductModel with fields populated from the DTO
      */
     @Override
+    @Transactional
+    @TrackedOperation("ProductCreated")
     public ProductModel createProduct(ProductReq product) {
         if (product.getPrice() < 0) {
-            ValidationException exception = new ValidationException("price", "Price cannot be negative")
+            throw new ValidationException("price", "Price cannot be negative")
                     .withProperty("attemptedPrice", String.valueOf(product.getPrice()));
-
-            Map<String, String> properties = new HashMap<>();
-            properties.put("operation", "createProduct");
-            properties.put("productName", product.getName());
-            properties.put("attemptedPrice", String.valueOf(product.getPrice()));
-
-            telemetryUtil.trackException(exception, properties);
-            throw exception;
         }
 
-        long startTime = System.currentTimeMillis();
-        ProductModel productModel = ProductUtil.mapToProductModel(product);
-
-        Map<String, String> properties = new HashMap<>();
-        properties.put("productName", productModel.getName());
-        properties.put("operation", "createProduct");
-
-        try {
-            ProductModel savedProduct = productRepository.save(productModel);
-            telemetryUtil.trackOperation("ProductCreated", properties, startTime, product.getPrice());
-            return savedProduct;
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
-        }
+        ProductModel savedProduct = productRepository.save(ProductUtil.mapToProductModel(product));
+        productChangePublisher.created(savedProduct);
+        return savedProduct;
     }
 
 }
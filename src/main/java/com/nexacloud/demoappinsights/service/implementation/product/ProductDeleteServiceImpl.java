@@ -1,20 +1,30 @@
 package com.nexacloud.demoappinsights.service.implementation.product;
 
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
 import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
+import com.nexacloud.demoappinsights.exception.ValidationException;
 import com.nexacloud.demoappinsights.repository.ProductRepository;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductDeleteService;
-import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * ProductDeleteServiceImpl class
  *
  * <p>
  * This class implements the ProductDeleteService interface and provides methods for deleting products from the database.
+ * Deletes are issued as JPQL bulk statements, so products are never loaded into the persistence context.
+ * Range deletes are a single statement over the price range, whatever the number of matching products,
+ * and are published as a single range change.
  * </p>
  *
  * @author Priyonuj Dey
@@ -23,8 +33,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class ProductDeleteServiceImpl implements ProductDeleteService {
     private final ProductRepository productRepository;
-    private final TelemetryUtil telemetryUtil;
+    private final ProductChangePublisher productChangePublisher;
 
+    @Value("${product.delete.max-ids:1000}")
+    private int maxIds;
+
+    @Value("${product.delete.chunk-size:1000}")
+    private int chunkSize;
 
     /**
      * Deletes a product by its ID.
@@ -36,22 +51,78 @@ public class ProductDeleteServiceImpl implements ProductDeleteService {
      * @param id The ID of the product to delete
      */
     @Override
+    @Transactional
+    @TrackedOperation(value = "ProductDeleted", arguments = "id")
     public void deleteProduct(Long id) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("productId", id.toString());
-        properties.put("operation", "deleteProduct");
-
-        try {
-            if (productRepository.existsById(id)) {
-                productRepository.deleteById(id);
-                telemetryUtil.trackOperation("ProductDeleted", properties, System.currentTimeMillis(), null);
-            } else {
-                telemetryUtil.trackOperation("ProductDeleteFailed_NotFound", properties, System.currentTimeMillis(), null);
-                throw new ResourceNotFoundException("Product", id.toString());
-            }
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+        if (productRepository.deleteProductById(id) == 0) {
+            throw new ResourceNotFoundException("Product", id.toString());
+        }
+        productChangePublisher.deleted(id);
+    }
+
+    /**
+     * Deletes every product with one of the given IDs.
+     *
+     * <p>
+     * The IDs are deleted without checking which of them exist, so a deletion is published for
+     * every requested ID; removing a product that does not exist is a no-op for every listener.
+     * </p>
+     *
+     * @param ids The IDs of the products to delete
+     * @return The number of deleted products
+     */
+    @Override
+    @Transactional
+    @TrackedOperation("ProductsDeleted")
+    public int deleteProducts(Collection<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+        if (requestedIds.isEmpty()) {
+            throw new ValidationException("ids", "At least one product ID is required");
+        }
+        if (requestedIds.size() > maxIds) {
+            throw new ValidationException("ids", "At most " + maxIds + " product IDs can be deleted at once");
+        }
+
+        int deleted = deleteByIds(new ArrayList<>(requestedIds));
+        if (deleted > 0) {
+            requestedIds.forEach(productChangePublisher::deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes every product priced within the given inclusive range.
+     *
+     * @param minPrice Minimum price (null for no lower bound)
+     * @param maxPrice Maximum price (null for no upper bound)
+     * @return The number of deleted products
+     */
+    @Override
+    @Transactional
+    @TrackedOperation(value = "ProductsDeleted", arguments = {"minPrice", "maxPrice"})
+    public int deleteProductsByPriceRange(Double minPrice, Double maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            throw new ValidationException("minPrice", "minPrice or maxPrice is required");
+        }
+        double lower = minPrice != null ? minPrice : -Double.MAX_VALUE;
+        double upper = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        if (lower > upper) {
+            throw new ValidationException("maxPrice", "maxPrice must not be less than minPrice");
+        }
+
+        int deleted = productRepository.deleteProductsByPriceBetween(lower, upper);
+        if (deleted > 0) {
+            productChangePublisher.deletedRange(minPrice, maxPrice);
+        }
+        return deleted;
+    }
+
+    private int deleteByIds(List<Long> ids) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            deleted += productRepository.deleteProductsByIdIn(ids.subList(from, Math.min(ids.size(), from + chunkSize)));
         }
+        return deleted;
     }
 }
@@ -0,0 +1,74 @@
+package com.nexacloud.demoappinsights.service.implementation.product;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import com.nexacloud.demoappinsights.service.interfaces.product.ProductExportService;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * ProductExportServiceImpl class
+ *
+ * <p>
+ * This class implements the ProductExportService interface and streams the product catalog as
+ * newline-delimited JSON. Rows are read through a repository Stream with a JDBC fetch size and
+ * each entity is detached once it has been written, so neither the result set nor the
+ * persistence context grows with the number of products.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductExportServiceImpl implements ProductExportService {
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports every product as newline-delimited JSON.
+     *
+     * @param outputStream The stream to write the export to
+     * @return The number of exported products
+     * @throws IOException if writing to the output stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @TrackedOperation("ProductsExported")
+    public long exportProducts(OutputStream outputStream) throws IOException {
+        long count = 0;
+
+        // Let the generator decide when to flush instead of flushing the response after every row
+        ObjectWriter writer = objectMapper.writerFor(ProductModel.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<ProductModel> products = productRepository.streamAllByOrderByIdAsc();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<ProductModel> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                ProductModel product = iterator.next();
+                writer.writeValue(generator, product);
+                generator.writeRaw('\n');
+                entityManager.detach(product);
+                count++;
+            }
+            generator.flush();
+        }
+        return count;
+    }
+}
@@ -1,24 +1,48 @@
 package com.nexacloud.demoappinsights.service.implementation.product;
 
+import com.nexacloud.demoappinsights.cache.CatalogSnapshot;
+import com.nexacloud.demoappinsights.cache.CatalogSnapshotStore;
+import com.nexacloud.demoappinsights.cache.ProductCache;
+import com.nexacloud.demoappinsights.cache.ProductReadCoalescer;
+import com.nexacloud.demoappinsights.dto.response.ProductChangeRes;
+import com.nexacloud.demoappinsights.dto.response.ProductChangesRes;
+import com.nexacloud.demoappinsights.dto.response.ProductMultiGetRes;
+import com.nexacloud.demoappinsights.dto.response.ProductPageRes;
+import com.nexacloud.demoappinsights.entity.ProductChangeModel;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import com.nexacloud.demoappinsights.event.ProductChangeLog;
 import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
+import com.nexacloud.demoappinsights.exception.ValidationException;
+import com.nexacloud.demoappinsights.repository.ProductChangeRepository;
 import com.nexacloud.demoappinsights.repository.ProductRepository;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductFetchService;
-import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.CursorUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * ProductFetchServiceImpl class
  *
  * <p>
  * This class implements the ProductFetchService interface and provides methods for fetching products from the database.
- * It uses the ProductRepository to retrieve products from the database.
+ * It uses the ProductRepository to retrieve products from the database. When the in-memory
+ * catalog snapshot is enabled and loaded, listings and price filters are answered from the
+ * snapshot instead. Concurrent identical reads that do reach the database share one repository call.
  * </p>
  *
  * @author Priyonuj Dey
@@ -27,7 +51,26 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProductFetchServiceImpl implements ProductFetchService {
     private final ProductRepository productRepository;
-    private final TelemetryUtil telemetryUtil;
+    private final ProductCache productCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final ProductReadCoalescer productReadCoalescer;
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductChangeLog productChangeLog;
+
+    @Value("${product.listing.default-limit:50}")
+    private int defaultLimit;
+
+    @Value("${product.listing.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${product.listing.unpaged-enabled:false}")
+    private boolean unpagedEnabled;
+
+    @Value("${product.multi-get.max-ids:1000}")
+    private int multiGetMaxIds;
+
+    @Value("${product.multi-get.chunk-size:500}")
+    private int multiGetChunkSize;
 
     /**
      * Retrieves a list of all products in the database.
@@ -39,17 +82,10 @@ public class ProductFetchServiceImpl implements ProductFetchService {
      * @return A list of ProductModel entities
      */
     @Override
+    @TrackedOperation("ProductsListed")
     public List<ProductModel> getAllProducts() {
-        long startTime = System.currentTimeMillis();
-
-        try {
-            List<ProductModel> products = productRepository.findAll();
-            telemetryUtil.trackPerformance("ProductListingPerformance", System.currentTimeMillis() - startTime);
-            return products;
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, Map.of("operation", "getAllProducts"));
-            throw e;
-        }
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        return snapshot != null ? snapshot.all() : productRepository.findAll();
     }
 
     /**
@@ -63,53 +99,275 @@ public class ProductFetchServiceImpl implements ProductFetchService {
      * @return A list of ProductModel entities
      */
     @Override
+    @TrackedOperation(value = "ProductFilteredByPrice", arguments = "minPrice")
     public List<ProductModel> getProductsByMinPrice(Double minPrice) {
-        long startTime = System.currentTimeMillis();
-        Map<String, String> properties = new HashMap<>();
-        properties.put("minPrice", minPrice.toString());
-        properties.put("operation", "getProductsByMinPrice");
-
-        try {
-            List<ProductModel> products = productRepository.findByPriceGreaterThanEqual(minPrice);
-            telemetryUtil.trackOperation("ProductFilteredByPrice", properties, startTime, (double) products.size());
-            return products;
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        if (snapshot != null) {
+            return snapshot.fromMinPrice(minPrice);
         }
+        return productReadCoalescer.byMinPrice(minPrice,
+                () -> List.copyOf(productRepository.findByPriceGreaterThanEqual(minPrice)));
     }
 
     /**
      * Retrieves a product by its ID.
      *
      * <p>
-     * This method retrieves a product from the database with the specified ID and returns it as an Optional.
+     * This method retrieves a product with the specified ID and returns it as an Optional.
+     * Lookups are served from the product cache and only reach the database on a cache miss.
+     * The cache loads a missing ID once; concurrent lookups of it wait for that load.
      * </p>
      *
      * @param id The ID of the product to retrieve
      * @return An Optional containing the ProductModel entity
      */
     @Override
+    @TrackedOperation(value = "ProductFetched", arguments = "id")
     public Optional<ProductModel> getProductById(Long id) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("productId", id.toString());
-        properties.put("operation", "getProductById");
+        Optional<ProductModel> product = productCache.get(id, productRepository::findById);
+        if (product.isEmpty()) {
+            throw new ResourceNotFoundException("Product", id.toString());
+        }
+        return product;
+    }
+
+    /**
+     * Returns the version of a product if it is in the product cache.
+     *
+     * @param id The ID of the product
+     * @return An Optional containing the cached version
+     */
+    @Override
+    public Optional<Long> getKnownVersion(Long id) {
+        return productCache.cachedVersion(id);
+    }
+
+    /**
+     * Retrieves one page of products using keyset pagination.
+     *
+     * <p>
+     * One row more than the page size is fetched to find out whether another page exists
+     * without running a count query.
+     * </p>
+     *
+     * @param minPrice The minimum price of the products to retrieve (optional)
+     * @param limit Maximum number of products on the page (optional)
+     * @param after Opaque cursor returned with the previous page (optional)
+     * @return A page of products with the cursor for the next page
+     */
+    @Override
+    @TrackedOperation(value = "ProductPageFetched", arguments = {"minPrice", "limit"})
+    public ProductPageRes getProductsPage(Double minPrice, Integer limit, String after) {
+        int pageSize = resolvePageSize(limit);
+
+        int fetchSize = pageSize + 1;
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        List<ProductModel> rows;
+
+        if (minPrice == null) {
+            Long afterId = after != null ? CursorUtil.decodeIdCursor(after).id() : null;
+            if (snapshot != null) {
+                rows = snapshot.afterId(afterId, fetchSize);
+            } else if (afterId == null) {
+                rows = productRepository.findAllByOrderByIdAsc(Limit.of(fetchSize));
+            } else {
+                rows = productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(fetchSize));
+            }
+        } else {
+            CursorUtil.Cursor cursor = after != null ? CursorUtil.decodePriceCursor(after) : null;
+            if (snapshot != null) {
+                rows = cursor == null
+                        ? snapshot.fromMinPrice(minPrice, null, 0, fetchSize)
+                        : snapshot.fromMinPrice(minPrice, cursor.price(), cursor.id(), fetchSize);
+            } else if (cursor == null) {
+                rows = productRepository.findByPriceGreaterThanEqualOrderByPriceAscIdAsc(minPrice, Limit.of(fetchSize));
+            } else {
+                rows = productRepository.findPriceSeekPage(minPrice, cursor.price(), cursor.id(), Limit.of(fetchSize));
+            }
+        }
+
+        return toPage(rows, pageSize, minPrice != null);
+    }
+
+    /**
+     * Retrieves all matching products in a single response, if unpaged listing is enabled.
+     *
+     * @param minPrice The minimum price of the products to retrieve (optional)
+     * @return A single page containing every matching product
+     */
+    @Override
+    @TrackedOperation(value = "ProductsListedUnpaged", arguments = "minPrice")
+    public ProductPageRes getAllProductsUnpaged(Double minPrice) {
+        if (!unpagedEnabled) {
+            throw new ValidationException("unpaged", "Unpaged listing is disabled, use limit and after to page through products");
+        }
+
+        List<ProductModel> products = minPrice != null ? getProductsByMinPrice(minPrice) : getAllProducts();
+        return new ProductPageRes(products, null, false);
+    }
+
+    /**
+     * Retrieves the cheapest or most expensive products within a price range.
+     *
+     * @param direction ASC for the cheapest products first, DESC for the most expensive first
+     * @param minPrice The minimum price, inclusive (optional)
+     * @param maxPrice The maximum price, inclusive (optional)
+     * @param limit Maximum number of products to return (optional)
+     * @return The products ordered by price, then ID, in the requested direction
+     */
+    @Override
+    @TrackedOperation(value = "ProductTopByPriceFetched", arguments = {"direction", "limit"})
+    public List<ProductModel> getTopProductsByPrice(Sort.Direction direction, Double minPrice, Double maxPrice, Integer limit) {
+        int size = resolvePageSize(limit);
+        double lower = minPrice != null ? minPrice : -Double.MAX_VALUE;
+        double upper = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        if (lower > upper) {
+            throw new ValidationException("maxPrice", "maxPrice must not be less than minPrice");
+        }
+
+        return direction.isAscending()
+                ? productRepository.findByPriceBetweenOrderByPriceAscIdAsc(lower, upper, Limit.of(size))
+                : productRepository.findByPriceBetweenOrderByPriceDescIdDesc(lower, upper, Limit.of(size));
+    }
+
+    /**
+     * Retrieves several products by ID at once.
+     *
+     * <p>
+     * Duplicate IDs are returned once, at the position of their first occurrence. All cache misses
+     * are loaded in one pass, one IN query per chunk, on a single read-only transaction.
+     * </p>
+     *
+     * @param ids The IDs of the products to retrieve, in the order they should be returned
+     * @return The products found, in request order, and the IDs that do not exist
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @TrackedOperation("ProductsFetchedByIds")
+    public ProductMultiGetRes getProductsByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+        if (requestedIds.isEmpty()) {
+            throw new ValidationException("ids", "At least one product ID is required");
+        }
+        if (requestedIds.size() > multiGetMaxIds) {
+            throw new ValidationException("ids", "At most " + multiGetMaxIds + " products can be fetched at once");
+        }
 
-        try {
-            Optional<ProductModel> product = productRepository.findById(id);
+        Map<Long, Optional<ProductModel>> products = productCache.getAll(requestedIds, this::loadByIds);
 
-            if (product.isPresent()) {
-                telemetryUtil.trackOperation("ProductFound", properties, System.currentTimeMillis(), null);
+        List<ProductModel> items = new ArrayList<>(requestedIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Optional<ProductModel> product = products.get(id);
+            if (product != null && product.isPresent()) {
+                items.add(product.get());
             } else {
-                telemetryUtil.trackOperation("ProductNotFound", properties, System.currentTimeMillis(), null);
-                throw new ResourceNotFoundException("Product", id.toString());
+                missingIds.add(id);
+            }
+        }
+        return new ProductMultiGetRes(items, missingIds);
+    }
+
+    /**
+     * Retrieves the products created, updated or deleted since a change token.
+     *
+     * <p>
+     * Only changes below {@link ProductChangeLog#visibleSequence()} are read, so a change that
+     * commits late can never fall behind a token that was already handed out.
+     * </p>
+     *
+     * <p>
+     * Changed products are returned with their current state. A product that has been deleted since
+     * the change was recorded is returned as a {@code DELETED} tombstone at that change's position,
+     * so a consumer never sees a creation or update without a product; the deletion itself follows
+     * later in the feed.
+     * </p>
+     *
+     * @param since Token returned by the previous request (optional)
+     * @param limit Maximum number of changes to read (optional)
+     * @return The changed products and the token to continue from
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @TrackedOperation(value = "ProductChangesFetched", arguments = "limit")
+    public ProductChangesRes getChanges(String since, Integer limit) {
+        long afterSequence = since != null ? CursorUtil.decodeChangeToken(since) : 0;
+        int pageSize = resolvePageSize(limit);
+
+        List<ProductChangeModel> rows = productChangeRepository
+                .findBySequenceGreaterThanAndSequenceLessThanEqualOrderBySequenceAsc(afterSequence,
+                        productChangeLog.visibleSequence(), Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+        if (rows.isEmpty()) {
+            return new ProductChangesRes(List.of(), CursorUtil.encodeChangeToken(afterSequence), false);
+        }
+
+        // Keep the latest change of each product, ordered by that change; range deletes have no product and are all kept
+        Map<Object, ProductChangeModel> latest = new LinkedHashMap<>();
+        for (ProductChangeModel row : rows) {
+            Object key = row.getProductId() != null ? row.getProductId() : row.getSequence() + "-range";
+            latest.remove(key);
+            latest.put(key, row);
+        }
+        List<Long> liveIds = latest.values().stream()
+                .filter(row -> row.getProductId() != null && row.getType() != ProductChangeEvent.ChangeType.DELETED)
+                .map(ProductChangeModel::getProductId)
+                .toList();
+        Map<Long, ProductModel> products = liveIds.isEmpty() ? Map.of() : loadByIds(new LinkedHashSet<>(liveIds));
+
+        List<ProductChangeRes> changes = new ArrayList<>(latest.size());
+        for (ProductChangeModel row : latest.values()) {
+            ProductModel product = row.getProductId() != null ? products.get(row.getProductId()) : null;
+            ProductChangeEvent.ChangeType type = row.getType();
+            // Deleted after this change, by a change further on in the feed: report it as deleted already
+            if (product == null && (type == ProductChangeEvent.ChangeType.CREATED
+                    || type == ProductChangeEvent.ChangeType.UPDATED)) {
+                type = ProductChangeEvent.ChangeType.DELETED;
             }
+            changes.add(new ProductChangeRes(row.getSequence(), type, row.getProductId(), row.getChangedAt(), product,
+                    row.getMinPrice(), row.getMaxPrice()));
+        }
+        long lastSequence = rows.get(rows.size() - 1).getSequence();
+        return new ProductChangesRes(changes, CursorUtil.encodeChangeToken(lastSequence), hasMore);
+    }
 
-            return product;
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+    private Map<Long, ProductModel> loadByIds(Set<? extends Long> ids) {
+        List<Long> pending = new ArrayList<>(ids);
+        Map<Long, ProductModel> loaded = new HashMap<>(pending.size() * 2);
+        for (int from = 0; from < pending.size(); from += multiGetChunkSize) {
+            List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + multiGetChunkSize));
+            productRepository.findAllById(chunk).forEach(product -> loaded.put(product.getId(), product));
         }
+        return loaded;
     }
 
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new ValidationException("limit", "Limit must be between 1 and " + maxLimit)
+                    .withProperty("attemptedLimit", String.valueOf(limit));
+        }
+        return limit;
+    }
+
+    private ProductPageRes toPage(List<ProductModel> rows, int pageSize, boolean orderedByPrice) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ProductModel> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ProductModel last = items.get(items.size() - 1);
+            nextCursor = orderedByPrice
+                    ? CursorUtil.encodePriceCursor(last.getPrice(), last.getId())
+                    : CursorUtil.encodeIdCursor(last.getId());
+        }
+
+        return new ProductPageRes(items, nextCursor, hasMore);
+    }
 }
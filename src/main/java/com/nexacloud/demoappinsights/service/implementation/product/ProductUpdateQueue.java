@@ -0,0 +1,394 @@
+package com.nexacloud.demoappinsights.service.implementation.product;
+
+import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
+import com.nexacloud.demoappinsights.exception.ServiceOverloadedException;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import com.nexacloud.demoappinsights.util.ProductUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind queue for product updates that only need to be applied eventually.
+ *
+ * <p>
+ * The queue is optional and only active when {@code product.update-queue.enabled} is set. Queued
+ * updates are full replacements, so only the latest one per product matters: they are kept in a
+ * concurrent map by product ID and a newer update simply replaces the pending one. A single flush
+ * thread drains the map on a short interval, or as soon as the number of pending products reaches
+ * the flush threshold, and writes the updates in chunks the size of the Hibernate JDBC batch: the
+ * products of a chunk are loaded with one IN query, updated and flushed as batched UPDATE
+ * statements in one transaction. Each written update is published as a product change, so caches,
+ * statistics and the change feed see it like any other update.
+ * </p>
+ *
+ * <p>
+ * Updates of one product are applied in the order they were queued. Every queued update and every
+ * committed synchronous write (update, conditional update, batch or delete) takes a ticket from one
+ * counter, and the ticket of the last synchronous write of each product is kept until no older
+ * queued update is left. A synchronous write supersedes the updates of the product queued before it
+ * committed: they are removed from the map and, if the flush has already taken them, neither
+ * written nor put back after a failed flush. While a synchronous write of the product is still in
+ * progress, the flush leaves its queued update for the next round, so a rolled-back write does not
+ * lose it. A chunk that fails is put back, with its original tickets, only for the products that
+ * have not been queued again since. Updates of products that no longer exist are dropped.
+ * </p>
+ *
+ * <p>
+ * The queue is not durable. Updates acknowledged with 202 live only in memory until they are
+ * flushed: they are written one last time on a graceful shutdown, but a crash or a kill loses them.
+ * Callers that cannot tolerate this must use synchronous updates.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Slf4j
+@Component
+public class ProductUpdateQueue implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final ProductChangePublisher productChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int flushThreshold;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final int chunkSize;
+    private final long retryAfterSeconds;
+
+    private final AtomicLong tickets = new AtomicLong();
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastSynchronousWrites = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> synchronousWrites = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread flushThread;
+    private ScheduledExecutorService scheduler;
+
+    public ProductUpdateQueue(ProductRepository productRepository,
+                              ProductChangePublisher productChangePublisher,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${product.update-queue.enabled:false}") boolean enabled,
+                              @Value("${product.update-queue.flush-interval:200ms}") Duration flushInterval,
+                              @Value("${product.update-queue.flush-threshold:500}") int flushThreshold,
+                              @Value("${product.update-queue.max-pending:50000}") int maxPending,
+                              @Value("${product.update-queue.max-attempts:3}") int maxAttempts,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize,
+                              @Value("${product.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        this.productRepository = productRepository;
+        this.productChangePublisher = productChangePublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.flushIntervalMs = Math.max(1, flushInterval.toMillis());
+        this.flushThreshold = Math.max(1, flushThreshold);
+        this.maxPending = Math.max(1, maxPending);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    /**
+     * Starts the periodic flush.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-update-flusher");
+            thread.setDaemon(true);
+            flushThread = thread;
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and writes the updates that are still pending.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        // The final flush runs on the flush thread too, after any flush in progress; failed chunks get their retries
+        scheduler.execute(() -> {
+            for (int attempt = 0; attempt < maxAttempts && !pending.isEmpty(); attempt++) {
+                flushQuietly();
+            }
+        });
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Product update queue did not drain on shutdown, {} updates lost", pending.size());
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * @return Whether updates can be queued
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a product update, replacing the update already pending for the same product.
+     *
+     * @param id The ID of the product to update
+     * @param product The updated product details
+     * @throws ServiceOverloadedException if too many products have an update pending
+     */
+    public void enqueue(Long id, ProductReq product) {
+        if (!enabled) {
+            throw new IllegalStateException("Product update queue is disabled");
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(id)) {
+            rejected.increment();
+            throw new ServiceOverloadedException("queued product updates", retryAfterSeconds);
+        }
+        queued.increment();
+        if (pending.put(id, new PendingUpdate(product, tickets.incrementAndGet(), 0)) != null) {
+            coalesced.increment();
+        }
+        if (pending.size() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Records that a synchronous write of a product is in progress, so that the flush does not
+     * write the product's queued update until the write has committed or rolled back. Changes
+     * published by the flush itself are ignored.
+     *
+     * @param event The product change, published inside the writing transaction
+     */
+    @EventListener
+    public void onProductChange(ProductChangeEvent event) {
+        if (enabled && isSynchronousWrite(event) && TransactionSynchronizationManager.isActualTransactionActive()) {
+            synchronousWrites.merge(event.productId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Discards the updates of a product queued before a synchronous write of it committed, so that
+     * they cannot overwrite the newer write when the queue is flushed.
+     *
+     * @param event The committed product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChangeCommitted(ProductChangeEvent event) {
+        if (!enabled || !isSynchronousWrite(event)) {
+            return;
+        }
+        long ticket = tickets.incrementAndGet();
+        Long id = event.productId();
+        // Record the write before removing the pending update, see requeue
+        lastSynchronousWrites.merge(id, ticket, Math::max);
+        pending.computeIfPresent(id, (key, update) -> update.ticket() < ticket ? null : update);
+        endSynchronousWrite(id);
+    }
+
+    /**
+     * Forgets a synchronous write that rolled back; the product's queued update stays valid.
+     *
+     * @param event The rolled back product change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onProductChangeRolledBack(ProductChangeEvent event) {
+        if (enabled && isSynchronousWrite(event)) {
+            endSynchronousWrite(event.productId());
+        }
+    }
+
+    private boolean isSynchronousWrite(ProductChangeEvent event) {
+        return event.productId() != null && Thread.currentThread() != flushThread;
+    }
+
+    private void endSynchronousWrite(Long id) {
+        synchronousWrites.computeIfPresent(id, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Product update flush failed", e);
+        }
+    }
+
+    /**
+     * Writes all pending updates, one chunk per transaction. Package-private for tests, which call
+     * it instead of waiting for the flush thread.
+     */
+    void flush() {
+        flushRequested.set(false);
+        pruneSynchronousWrites();
+        List<Map.Entry<Long, PendingUpdate>> chunk = new ArrayList<>(chunkSize);
+        Iterator<Map.Entry<Long, PendingUpdate>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, PendingUpdate> entry = iterator.next();
+            // Only take the entry if it was not replaced in the meantime; a newer update stays for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                chunk.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+            if (chunk.size() == chunkSize || (!iterator.hasNext() && !chunk.isEmpty())) {
+                write(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+    }
+
+    /**
+     * Forgets the synchronous writes older than every pending update: they cannot supersede
+     * anything anymore. Only runs on the flush thread, before updates are taken from the map.
+     */
+    private void pruneSynchronousWrites() {
+        long oldest = pending.values().stream().mapToLong(PendingUpdate::ticket).min().orElse(Long.MAX_VALUE);
+        lastSynchronousWrites.values().removeIf(ticket -> ticket < oldest);
+    }
+
+    private void write(List<Map.Entry<Long, PendingUpdate>> chunk) {
+        Set<Long> writtenIds = new HashSet<>();
+        Set<Long> deferredIds = new HashSet<>();
+        boolean failed = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writtenIds.clear();
+                deferredIds.clear();
+                Map<Long, ProductModel> products = productRepository.findAllById(chunk.stream().map(Map.Entry::getKey).toList())
+                        .stream()
+                        .collect(Collectors.toMap(ProductModel::getId, Function.identity()));
+                for (Map.Entry<Long, PendingUpdate> entry : chunk) {
+                    Long id = entry.getKey();
+                    ProductModel product = products.get(id);
+                    if (product == null || isSuperseded(id, entry.getValue())) {
+                        continue;
+                    }
+                    if (synchronousWrites.containsKey(id)) {
+                        // A synchronous write of the product has not completed yet: wait for its outcome
+                        deferredIds.add(id);
+                        continue;
+                    }
+                    ProductUtil.updateProductFields(product, entry.getValue().product());
+                    productChangePublisher.updated(product);
+                    writtenIds.add(id);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Writing {} queued product updates failed: {}", chunk.size(), e.getMessage());
+            failed = true;
+        }
+
+        for (Map.Entry<Long, PendingUpdate> entry : chunk) {
+            Long id = entry.getKey();
+            if (!failed && writtenIds.contains(id)) {
+                written.increment();
+            } else if (isSuperseded(id, entry.getValue())) {
+                superseded.increment();
+            } else if (failed || deferredIds.contains(id)) {
+                requeue(id, entry.getValue(), failed);
+            } else {
+                missing.increment();
+            }
+        }
+    }
+
+    private boolean isSuperseded(Long id, PendingUpdate update) {
+        return lastSynchronousWrites.getOrDefault(id, 0L) > update.ticket();
+    }
+
+    private void requeue(Long id, PendingUpdate update, boolean failed) {
+        int attempts = failed ? update.attempts() + 1 : update.attempts();
+        if (attempts >= maxAttempts) {
+            dropped.increment();
+            log.error("Dropping queued update of product {} after {} attempts", id, maxAttempts);
+            return;
+        }
+        PendingUpdate requeued = new PendingUpdate(update.product(), update.ticket(), attempts);
+        if (pending.putIfAbsent(id, requeued) != null) {
+            return;
+        }
+        // A synchronous write that committed after the check in write() but before the update was put back
+        // is recorded before it removes pending updates, so either it removes this one or it is seen here
+        if (isSuperseded(id, requeued) && pending.remove(id, requeued)) {
+            superseded.increment();
+        } else {
+            retried.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.update.queue.pending", pending, Map::size)
+                .description("Products with a queued update")
+                .register(registry);
+        bindCounter(registry, "product.update.queue.updates", "queued", queued, "Updates accepted by the queue");
+        bindCounter(registry, "product.update.queue.updates", "coalesced", coalesced,
+                "Queued updates that replaced a pending update of the same product");
+        bindCounter(registry, "product.update.queue.updates", "rejected", rejected,
+                "Updates turned away because too many products had an update pending");
+        bindCounter(registry, "product.update.queue.writes", "written", written, "Queued updates written to the database");
+        bindCounter(registry, "product.update.queue.writes", "missing", missing,
+                "Queued updates dropped because the product no longer exists");
+        bindCounter(registry, "product.update.queue.writes", "superseded", superseded,
+                "Queued updates discarded because a later synchronous write of the product committed first");
+        bindCounter(registry, "product.update.queue.writes", "retried", retried,
+                "Queued updates put back for the next flush after a failed or deferred write");
+        bindCounter(registry, "product.update.queue.writes", "dropped", dropped,
+                "Queued updates given up after the maximum number of failed attempts");
+    }
+
+    private static void bindCounter(MeterRegistry registry, String name, String result, LongAdder adder, String description) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .tag("result", result)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * A queued update, the ticket it was queued with and the number of times writing it has failed.
+     */
+    private record PendingUpdate(ProductReq product, long ticket, int attempts) {
+    }
+}
@@ -1,17 +1,22 @@
 package com.nexacloud.demoappinsights.service.implementation.product;
 
+import com.nexacloud.demoappinsights.dto.request.ProductPatchReq;
 import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.cache.ProductCache;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
+import com.nexacloud.demoappinsights.exception.PreconditionFailedException;
 import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
 import com.nexacloud.demoappinsights.repository.ProductRepository;
 import com.nexacloud.demoappinsights.service.interfaces.product.ProductUpdateService;
 import com.nexacloud.demoappinsights.util.ProductUtil;
-import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import com.nexacloud.demoappinsights.util.telemetry.TrackedOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -20,6 +25,10 @@ import java.util.Optional;
  * <p>
  * This class implements the ProductUpdateService interface and provides methods for updating products in the database.
  * It uses the ProductRepository to retrieve existing products and update them.
+ * Conditional updates apply the change with a single versioned UPDATE statement and read the row back.
+ * Partial updates write only the changed columns, and patches that change nothing are answered
+ * without a write (or, when the product is cached, without touching the database at all).
+ * Queued updates are handed to the {@link ProductUpdateQueue} and written in batches.
  * </p>
  *
  * @author Priyonuj Dey
@@ -28,7 +37,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ProductUpdateServiceImpl implements ProductUpdateService {
     private final ProductRepository productRepository;
-    private final TelemetryUtil telemetryUtil;
+    private final ProductChangePublisher productChangePublisher;
+    private final ProductCache productCache;
+    private final ProductUpdateQueue productUpdateQueue;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Updates an existing product.
@@ -43,29 +55,110 @@ public class ProductUpdateServiceImpl implements ProductUpdateService {
      * @return An Optional containing the updated ProductModel entity
      */
     @Override
+    @Transactional
+    @TrackedOperation(value = "ProductUpdated", arguments = "id")
     public Optional<ProductModel> updateProduct(Long id, ProductReq updatedProduct) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("productId", id.toString());
-        properties.put("productName", updatedProduct.getName());
-        properties.put("operation", "updateProduct");
+        ProductModel product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+        ProductUtil.updateProductFields(product, updatedProduct);
+        ProductModel saved = productRepository.save(product);
+        productChangePublisher.updated(saved);
+        return Optional.of(saved);
+    }
 
-        try {
-            Optional<ProductModel> existingProductOpt = productRepository.findById(id);
+    /**
+     * Updates an existing product only if it is still at the expected version.
+     *
+     * <p>
+     * The version check and the update are one conditional UPDATE statement, so no concurrent write
+     * can slip in between. The updated row is then read back, so the returned model carries every
+     * column, including the creation time and the new version.
+     * </p>
+     *
+     * @param id The ID of the product to update
+     * @param updatedProduct The updated product details
+     * @param expectedVersion The version the client last read
+     * @return An Optional containing the updated ProductModel entity
+     */
+    @Override
+    @Transactional
+    @TrackedOperation(value = "ProductUpdated", arguments = {"id", "expectedVersion"})
+    public Optional<ProductModel> updateProduct(Long id, ProductReq updatedProduct, long expectedVersion) {
+        int updated = productRepository.updateIfVersionMatches(id, expectedVersion, updatedProduct.getName(),
+                updatedProduct.getDescription(), updatedProduct.getPrice(), LocalDateTime.now());
 
-            if (existingProductOpt.isPresent()) {
-                ProductModel product = existingProductOpt.get();
-                ProductUtil.updateProductFields(product, updatedProduct);
-                ProductModel saved = productRepository.save(product);
-                telemetryUtil.trackOperation("ProductUpdated", properties, System.currentTimeMillis(), null);
-                return Optional.of(saved);
-            } else {
-                telemetryUtil.trackOperation("ProductUpdateFailed_NotFound", properties, System.currentTimeMillis(), null);
+        if (updated == 0) {
+            if (!productRepository.existsById(id)) {
                 throw new ResourceNotFoundException("Product", id.toString());
             }
-        } catch (Exception e) {
-            telemetryUtil.trackException(e, properties);
-            throw e;
+            throw new PreconditionFailedException("Product", id.toString());
+        }
+
+        // The bulk update cleared the persistence context, so this reads the row as just written
+        ProductModel product = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+        productChangePublisher.updated(product);
+        return Optional.of(product);
+    }
+
+    /**
+     * Partially updates an existing product.
+     *
+     * <p>
+     * The current product is read through the product cache, the same way as {@code GET}, so a
+     * patch that would not change it is answered without opening a write transaction, and repeating
+     * it does not reach the database at all. Otherwise the product is read and patched in a
+     * transaction; the entity is mapped with dynamic updates, so the UPDATE only sets the changed
+     * columns, and the version check at flush time fails the patch if the product was modified
+     * since it was read.
+     * </p>
+     *
+     * @param id The ID of the product to update
+     * @param patch The fields to change
+     * @param expectedVersion The version the client last read, or null for an unconditional update
+     * @return An Optional containing the updated ProductModel entity
+     */
+    @Override
+    @TrackedOperation(value = "ProductPatched", arguments = {"id", "expectedVersion"})
+    public Optional<ProductModel> patchProduct(Long id, ProductPatchReq patch, Long expectedVersion) {
+        Optional<ProductModel> current = productCache.get(id, productRepository::findById);
+        if (current.isEmpty()) {
+            throw new ResourceNotFoundException("Product", id.toString());
+        }
+        if (!ProductUtil.changes(current.get(), patch)
+                && (expectedVersion == null || expectedVersion.equals(current.get().getVersion()))) {
+            return current;
+        }
+
+        ProductModel patched = transactionTemplate.execute(status -> {
+            ProductModel product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", id.toString()));
+            if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+                throw new PreconditionFailedException("Product", id.toString());
+            }
+            if (ProductUtil.applyPatch(product, patch)) {
+                productChangePublisher.updated(product);
+            }
+            return product;
+        });
+        return Optional.ofNullable(patched);
+    }
+
+    /**
+     * Queues an update to be written in the background, if the write-behind update queue is enabled.
+     *
+     * @param id The ID of the product to update
+     * @param updatedProduct The updated product details
+     * @return true if the update was queued, false if the queue is disabled
+     */
+    @Override
+    @TrackedOperation(value = "ProductUpdateQueued", arguments = "id")
+    public boolean queueProductUpdate(Long id, ProductReq updatedProduct) {
+        if (!productUpdateQueue.isEnabled()) {
+            return false;
         }
+        productUpdateQueue.enqueue(id, updatedProduct);
+        return true;
     }
 
 }
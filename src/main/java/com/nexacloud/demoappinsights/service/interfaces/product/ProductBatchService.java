@@ -0,0 +1,34 @@
+package com.nexacloud.demoappinsights.service.interfaces.product;
+
+import com.nexacloud.demoappinsights.dto.request.ProductBatchOperationReq;
+import com.nexacloud.demoappinsights.dto.response.ProductBatchItemRes;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * ProductBatchService interface
+ *
+ * <p>
+ * This interface defines methods for applying a mixed list of create, update and delete
+ * operations to the product catalog in one transaction.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public interface ProductBatchService {
+
+    /**
+     * Executes a batch of product operations.
+     *
+     * <p>
+     * Operations are consumed from the iterator as they are parsed and applied in a single
+     * transaction. Invalid operations and operations on missing products are reported in the
+     * per-item results without aborting the batch; database failures roll back the whole batch.
+     * </p>
+     *
+     * @param operations The operations to apply, in request order
+     * @return One result per operation, in request order
+     */
+    List<ProductBatchItemRes> executeBatch(Iterator<ProductBatchOperationReq> operations);
+}
@@ -1,5 +1,7 @@
 package com.nexacloud.demoappinsights.service.interfaces.product;
 
+import java.util.Collection;
+
 /**
  * ProductDeleteService interface
  *
@@ -21,4 +23,25 @@ public interface ProductDeleteService {
      * @param id The ID of the product to delete
      */
     void deleteProduct(Long id);
+
+    /**
+     * Deletes every product with one of the given IDs.
+     *
+     * <p>
+     * IDs that do not exist are ignored.
+     * </p>
+     *
+     * @param ids The IDs of the products to delete
+     * @return The number of deleted products
+     */
+    int deleteProducts(Collection<Long> ids);
+
+    /**
+     * Deletes every product priced within the given inclusive range, recorded as a single range change.
+     *
+     * @param minPrice Minimum price (null for no lower bound)
+     * @param maxPrice Maximum price (null for no upper bound)
+     * @return The number of deleted products
+     */
+    int deleteProductsByPriceRange(Double minPrice, Double maxPrice);
 }
@@ -0,0 +1,30 @@
+package com.nexacloud.demoappinsights.service.interfaces.product;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * ProductExportService interface
+ *
+ * <p>
+ * This interface defines methods for exporting the product catalog.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public interface ProductExportService {
+
+    /**
+     * Exports every product as newline-delimited JSON.
+     *
+     * <p>
+     * This method streams products from the database and writes one JSON document per line
+     * directly to the given output stream, so memory use does not grow with the catalog size.
+     * </p>
+     *
+     * @param outputStream The stream to write the export to
+     * @return The number of exported products
+     * @throws IOException if writing to the output stream fails
+     */
+    long exportProducts(OutputStream outputStream) throws IOException;
+}
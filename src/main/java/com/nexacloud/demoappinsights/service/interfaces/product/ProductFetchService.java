@@ -1,7 +1,11 @@
 package com.nexacloud.demoappinsights.service.interfaces.product;
 
 
+import com.nexacloud.demoappinsights.dto.response.ProductChangesRes;
+import com.nexacloud.demoappinsights.dto.response.ProductMultiGetRes;
+import com.nexacloud.demoappinsights.dto.response.ProductPageRes;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -52,5 +56,90 @@ public interface ProductFetchService {
      */
     Optional<ProductModel> getProductById(Long id);
 
+    /**
+     * Returns the version of a product if it is already known, without reading the database.
+     *
+     * <p>
+     * Used to answer conditional requests before loading the product. An empty result only
+     * means the version is not known here, not that the product does not exist.
+     * </p>
+     *
+     * @param id The ID of the product
+     * @return An Optional containing the known version
+     */
+    Optional<Long> getKnownVersion(Long id);
+
+    /**
+     * Retrieves one page of products using keyset pagination.
+     *
+     * <p>
+     * Without a minimum price the page is ordered by ID; with a minimum price it is ordered
+     * by price and then ID. The page is read with a seek query positioned after the cursor,
+     * so the cost of a page does not depend on how deep into the catalog it is.
+     * </p>
+     *
+     * @param minPrice The minimum price of the products to retrieve (optional)
+     * @param limit Maximum number of products on the page (optional, defaults to the configured page size)
+     * @param after Opaque cursor returned with the previous page (optional)
+     * @return A page of products with the cursor for the next page
+     */
+    ProductPageRes getProductsPage(Double minPrice, Integer limit, String after);
+
+    /**
+     * Retrieves all matching products in a single response.
+     *
+     * <p>
+     * This is the legacy unbounded listing. It is only available when explicitly enabled
+     * in configuration, because it loads the whole (filtered) table in one go.
+     * </p>
+     *
+     * @param minPrice The minimum price of the products to retrieve (optional)
+     * @return A single page containing every matching product
+     */
+    ProductPageRes getAllProductsUnpaged(Double minPrice);
+
+    /**
+     * Retrieves the cheapest or most expensive products within a price range.
+     *
+     * <p>
+     * Only the requested number of rows is read, walking the price index from one end.
+     * </p>
+     *
+     * @param direction ASC for the cheapest products first, DESC for the most expensive first
+     * @param minPrice The minimum price, inclusive (optional)
+     * @param maxPrice The maximum price, inclusive (optional)
+     * @param limit Maximum number of products to return (optional, defaults to the configured page size)
+     * @return The products ordered by price, then ID, in the requested direction
+     */
+    List<ProductModel> getTopProductsByPrice(Sort.Direction direction, Double minPrice, Double maxPrice, Integer limit);
+
+    /**
+     * Retrieves several products by ID at once.
+     *
+     * <p>
+     * Cached products are served from the cache; the rest are loaded with chunked IN queries.
+     * IDs that do not exist are reported instead of failing the request.
+     * </p>
+     *
+     * @param ids The IDs of the products to retrieve, in the order they should be returned
+     * @return The products found, in request order, and the IDs that do not exist
+     */
+    ProductMultiGetRes getProductsByIds(List<Long> ids);
+
+    /**
+     * Retrieves the products created, updated or deleted since a change token.
+     *
+     * <p>
+     * Each product appears once per page, with its latest change in the page and its current
+     * state; deleted products appear as tombstones without a state. Pages are bounded, so a
+     * consumer that is far behind catches up over several requests.
+     * </p>
+     *
+     * @param since Token returned by the previous request (optional, null reads from the beginning)
+     * @param limit Maximum number of changes to read (optional, defaults to the configured page size)
+     * @return The changed products and the token to continue from
+     */
+    ProductChangesRes getChanges(String since, Integer limit);
+
 
 }
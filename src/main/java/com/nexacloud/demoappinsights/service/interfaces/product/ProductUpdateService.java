@@ -1,5 +1,6 @@
 package com.nexacloud.demoappinsights.service.interfaces.product;
 
+import com.nexacloud.demoappinsights.dto.request.ProductPatchReq;
 import com.nexacloud.demoappinsights.dto.request.ProductReq;
 import com.nexacloud.demoappinsights.entity.ProductModel;
 
@@ -30,4 +31,49 @@ public interface ProductUpdateService {
      */
     Optional<ProductModel> updateProduct(Long id, ProductReq product);
 
+    /**
+     * Updates an existing product only if it is still at the expected version.
+     *
+     * <p>
+     * The update is applied with a single conditional UPDATE statement and the updated product is
+     * read back. If no row matches, the product either does not exist (404) or was modified
+     * concurrently (412).
+     * </p>
+     *
+     * @param id The ID of the product to update
+     * @param product The updated product details
+     * @param expectedVersion The version the client last read
+     * @return An Optional containing the updated ProductModel entity
+     */
+    Optional<ProductModel> updateProduct(Long id, ProductReq product, long expectedVersion);
+
+    /**
+     * Partially updates an existing product.
+     *
+     * <p>
+     * Only the fields set in the patch are changed. A patch that changes nothing is a no-op: the
+     * product is returned unchanged and no UPDATE is issued.
+     * </p>
+     *
+     * @param id The ID of the product to update
+     * @param patch The fields to change
+     * @param expectedVersion The version the client last read, or null for an unconditional update
+     * @return An Optional containing the updated ProductModel entity
+     */
+    Optional<ProductModel> patchProduct(Long id, ProductPatchReq patch, Long expectedVersion);
+
+    /**
+     * Queues an update to be written in the background, if the write-behind update queue is enabled.
+     *
+     * <p>
+     * Queued updates of the same product are coalesced, only the latest one is written. The product
+     * is not read, so an update of a product that does not exist is accepted and dropped later.
+     * </p>
+     *
+     * @param id The ID of the product to update
+     * @param product The updated product details
+     * @return true if the update was queued, false if the queue is disabled and the update must be applied directly
+     */
+    boolean queueProductUpdate(Long id, ProductReq product);
+
 }
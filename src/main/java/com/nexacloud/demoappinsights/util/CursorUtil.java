@@ -0,0 +1,153 @@
+package com.nexacloud.demoappinsights.util;
+
+import com.nexacloud.demoappinsights.exception.ValidationException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding opaque keyset pagination cursors.
+ *
+ * <p>
+ * A cursor holds the sort key of the last row on a page: the product ID for plain
+ * listings, or the price and ID for listings ordered by price. Clients must treat
+ * the token as opaque.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@UtilityClass
+public class CursorUtil {
+
+    private static final String ID_PREFIX = "id:";
+    private static final String PRICE_PREFIX = "price:";
+    private static final String CHANGE_PREFIX = "change:";
+
+    /**
+     * Decoded position of a cursor.
+     *
+     * @param price Price of the last row (null for ID cursors)
+     * @param id ID of the last row
+     */
+    public record Cursor(Double price, long id) {
+    }
+
+    /**
+     * Encodes a cursor positioned after the given product ID.
+     *
+     * @param id ID of the last product on the page
+     * @return Opaque cursor token
+     */
+    public String encodeIdCursor(long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    /**
+     * Encodes a cursor positioned after the given price and product ID.
+     *
+     * @param price Price of the last product on the page
+     * @param id ID of the last product on the page
+     * @return Opaque cursor token
+     */
+    public String encodePriceCursor(double price, long id) {
+        return encode(PRICE_PREFIX + price + ":" + id);
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encodeIdCursor(long)}.
+     *
+     * @param token Cursor token
+     * @return The decoded cursor
+     * @throws ValidationException if the token is not a valid ID cursor
+     */
+    public Cursor decodeIdCursor(String token) {
+        String value = decode(token);
+        if (!value.startsWith(ID_PREFIX)) {
+            throw invalidCursor(token);
+        }
+        try {
+            return new Cursor(null, Long.parseLong(value.substring(ID_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            throw invalidCursor(token);
+        }
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encodePriceCursor(double, long)}.
+     *
+     * @param token Cursor token
+     * @return The decoded cursor
+     * @throws ValidationException if the token is not a valid price cursor
+     */
+    public Cursor decodePriceCursor(String token) {
+        String value = decode(token);
+        int separator = value.lastIndexOf(':');
+        if (!value.startsWith(PRICE_PREFIX) || separator <= PRICE_PREFIX.length()) {
+            throw invalidCursor(token);
+        }
+        try {
+            double price = Double.parseDouble(value.substring(PRICE_PREFIX.length(), separator));
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new Cursor(price, id);
+        } catch (NumberFormatException e) {
+            throw invalidCursor(token);
+        }
+    }
+
+    /**
+     * Encodes a change feed token positioned after the given change sequence.
+     *
+     * @param sequence Sequence of the last change read
+     * @return Opaque change token
+     */
+    public String encodeChangeToken(long sequence) {
+        return encode(CHANGE_PREFIX + sequence);
+    }
+
+    /**
+     * Decodes a token created by {@link #encodeChangeToken(long)}.
+     *
+     * @param token Change token
+     * @return The change sequence the token is positioned after
+     * @throws ValidationException if the token is not a valid change token
+     */
+    public long decodeChangeToken(String token) {
+        String value;
+        try {
+            value = decode(token);
+        } catch (ValidationException e) {
+            throw invalidChangeToken(token);
+        }
+        if (!value.startsWith(CHANGE_PREFIX)) {
+            throw invalidChangeToken(token);
+        }
+        try {
+            return Long.parseLong(value.substring(CHANGE_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw invalidChangeToken(token);
+        }
+    }
+
+    private String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decode(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor(token);
+        }
+    }
+
+    private ValidationException invalidChangeToken(String token) {
+        return new ValidationException("since", "Invalid change token")
+                .withProperty("token", token);
+    }
+
+    private ValidationException invalidCursor(String token) {
+        return new ValidationException("after", "Invalid pagination cursor")
+                .withProperty("cursor", token);
+    }
+}
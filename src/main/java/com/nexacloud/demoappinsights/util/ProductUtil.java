@@ -1,13 +1,24 @@
 package com.nexacloud.demoappinsights.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.nexacloud.demoappinsights.dto.request.ProductPatchReq;
 import com.nexacloud.demoappinsights.dto.request.ProductReq;
 import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.exception.ValidationException;
 import lombok.experimental.UtilityClass;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Objects;
 
 @UtilityClass
 public class ProductUtil {
+
+    /**
+     * Prefer header preference asking for the request to be processed asynchronously.
+     */
+    public static final String RESPOND_ASYNC = "respond-async";
+
     /**
      * Maps a ProductReq DTO to a ProductModel entity.
      *
@@ -36,4 +47,188 @@ public class ProductUtil {
         existingProduct.setPrice(updatedProduct.getPrice());
         existingProduct.setUpdatedAt(LocalDateTime.now());
     }
+
+    /**
+     * Maps a JSON Merge Patch (RFC 7396) document to a ProductPatchReq DTO.
+     *
+     * <p>
+     * The patch must be an object with only the name, description and price members. Members set
+     * to null would remove the field, which products do not allow, and are rejected like any
+     * other invalid value.
+     * </p>
+     *
+     * @param patch The merge patch document
+     * @return The fields to change
+     * @throws ValidationException if the patch is not a valid product patch
+     */
+    public ProductPatchReq mapMergePatch(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new ValidationException("body", "Merge patch must be a JSON object");
+        }
+        ProductPatchReq productPatch = new ProductPatchReq();
+        Iterator<String> fields = patch.fieldNames();
+        while (fields.hasNext()) {
+            String field = fields.next();
+            JsonNode value = patch.get(field);
+            switch (field) {
+                case "name" -> productPatch.setName(requiredText(field, value, "Product name is required"));
+                case "description" -> productPatch.setDescription(requiredText(field, value, "Product description is required"));
+                case "price" -> {
+                    if (value == null || !value.isNumber()) {
+                        throw new ValidationException(field, "Price is required");
+                    }
+                    if (value.doubleValue() < 0) {
+                        throw new ValidationException(field, "Price must be positive");
+                    }
+                    productPatch.setPrice(value.doubleValue());
+                }
+                default -> throw new ValidationException(field, "Unknown product field: " + field);
+            }
+        }
+        return productPatch;
+    }
+
+    private String requiredText(String field, JsonNode value, String message) {
+        if (value == null || !value.isTextual() || value.textValue().isBlank()) {
+            throw new ValidationException(field, message);
+        }
+        return value.textValue();
+    }
+
+    /**
+     * Applies the fields of a ProductPatchReq DTO that differ from the product's current values.
+     *
+     * <p>
+     * Fields that are not set are left untouched and fields set to their current value are not
+     * dirty, so Hibernate only writes the columns that actually change. The update time is left to the
+     * entity's update timestamp.
+     * </p>
+     *
+     * @param existingProduct The existing product entity to update
+     * @param productPatch The fields to change
+     * @return true if at least one field changed
+     */
+    public boolean applyPatch(ProductModel existingProduct, ProductPatchReq productPatch) {
+        if (!changes(existingProduct, productPatch)) {
+            return false;
+        }
+        if (productPatch.getName() != null) {
+            existingProduct.setName(productPatch.getName());
+        }
+        if (productPatch.getDescription() != null) {
+            existingProduct.setDescription(productPatch.getDescription());
+        }
+        if (productPatch.getPrice() != null) {
+            existingProduct.setPrice(productPatch.getPrice());
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a ProductPatchReq DTO would change a product.
+     *
+     * @param product The product
+     * @param productPatch The fields to change
+     * @return true if at least one field differs from the product's current value
+     */
+    public boolean changes(ProductModel product, ProductPatchReq productPatch) {
+        return (productPatch.getName() != null && !Objects.equals(productPatch.getName(), product.getName()))
+                || (productPatch.getDescription() != null && !Objects.equals(productPatch.getDescription(), product.getDescription()))
+                || (productPatch.getPrice() != null && !Objects.equals(productPatch.getPrice(), product.getPrice()));
+    }
+
+    /**
+     * Builds a strong ETag for a single product from its ID and version.
+     *
+     * @param product The product
+     * @return The quoted ETag value
+     */
+    public String eTag(ProductModel product) {
+        return eTag(product.getId(), product.getVersion() != null ? product.getVersion() : 0L);
+    }
+
+    /**
+     * Builds a strong ETag for a single product from its ID and version.
+     *
+     * @param id The product ID
+     * @param version The product version
+     * @return The quoted ETag value
+     */
+    public String eTag(Long id, long version) {
+        return "\"" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * Checks whether If-None-Match header values match an ETag, using the weak comparison
+     * required for If-None-Match ({@code W/} prefixes are ignored and {@code *} matches any ETag).
+     *
+     * @param ifNoneMatch The If-None-Match header values (may be null)
+     * @param eTag The quoted ETag of the current representation
+     * @return true if one of the listed ETags matches
+     */
+    public boolean matchesIfNoneMatch(String[] ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the product version from an If-Match header value.
+     *
+     * <p>
+     * Only a single strong ETag issued for the same product is accepted. A missing header or
+     * {@code *} returns null (no version check). Any other value, including weak ETags, an ETag
+     * for a different product or a list of ETags, can never match and returns -1.
+     * </p>
+     *
+     * @param id The product ID
+     * @param ifMatch The If-Match header value
+     * @return The expected version, null if unconditional, or -1 if the header cannot match
+     */
+    public Long versionFromIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-v";
+        String value = ifMatch.trim();
+        if (!value.startsWith(prefix) || !value.endsWith("\"") || value.length() <= prefix.length() + 1) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(value.substring(prefix.length(), value.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Checks whether a Prefer header asks for asynchronous processing (RFC 7240 respond-async).
+     *
+     * @param prefer The Prefer header value
+     * @return true if one of the preferences is respond-async
+     */
+    public boolean prefersRespondAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            String token = preference.split("[;=]", 2)[0].trim();
+            if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
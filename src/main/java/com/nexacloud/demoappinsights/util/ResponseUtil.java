@@ -26,6 +26,21 @@ public class ResponseUtil {
         return ResponseEntity.ok(new SuccessRes<>(message, HttpStatus.OK.value(), data));
     }
 
+    /**
+     * Creates a success response with HTTP 200 OK status and an ETag header.
+     *
+     * @param message Success message
+     * @param data Response data
+     * @param eTag Quoted entity tag of the response data
+     * @param <T> Type of response data
+     * @return ResponseEntity with standard success format
+     */
+    public <T> ResponseEntity<SuccessRes<T>> createOkResponse(String message, T data, String eTag) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(new SuccessRes<>(message, HttpStatus.OK.value(), data));
+    }
+
     /**
      * Creates a success response with HTTP 201 CREATED status.
      *
@@ -51,4 +66,19 @@ public class ResponseUtil {
         return ResponseEntity.accepted()
                 .body(new SuccessRes<>(message, HttpStatus.ACCEPTED.value(), data));
     }
+
+    /**
+     * Creates a success response with HTTP 202 ACCEPTED status and an ETag header.
+     *
+     * @param message Success message
+     * @param data Response data
+     * @param eTag Quoted entity tag of the response data
+     * @param <T> Type of response data
+     * @return ResponseEntity with standard success format
+     */
+    public <T> ResponseEntity<SuccessRes<T>> createAcceptedResponse(String message, T data, String eTag) {
+        return ResponseEntity.accepted()
+                .eTag(eTag)
+                .body(new SuccessRes<>(message, HttpStatus.ACCEPTED.value(), data));
+    }
 }
\ No newline at end of file
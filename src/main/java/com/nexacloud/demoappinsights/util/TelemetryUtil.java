@@ -1,24 +1,44 @@
 package com.nexacloud.demoappinsights.util;
 
-import com.microsoft.applicationinsights.TelemetryClient;
+import com.nexacloud.demoappinsights.util.telemetry.ExceptionDeduplicator;
+import com.nexacloud.demoappinsights.util.telemetry.LatencyAggregator;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryEvent;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetrySampler;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Utility class for Application Insights telemetry operations.
  * Centralizes common telemetry patterns used throughout the application.
  *
+ * <p>
+ * Items are handed to the {@link TelemetryPipeline} and sent in the background. Events are sampled
+ * by the {@link TelemetrySampler}, latencies are recorded in the {@link LatencyAggregator}, and an
+ * exception is reported once per request, repeats being collapsed by the {@link ExceptionDeduplicator}.
+ * </p>
+ *
  * @author Priyonuj Dey
  */
 @Component
 public class TelemetryUtil {
 
-    private final TelemetryClient telemetryClient;
+    private static final String TRACKED_EXCEPTION_ATTRIBUTE = TelemetryUtil.class.getName() + ".TRACKED_EXCEPTION";
+
+    private final TelemetryPipeline telemetryPipeline;
+    private final TelemetrySampler telemetrySampler;
+    private final LatencyAggregator latencyAggregator;
+    private final ExceptionDeduplicator exceptionDeduplicator;
 
-    public TelemetryUtil(TelemetryClient telemetryClient) {
-        this.telemetryClient = telemetryClient;
+    public TelemetryUtil(TelemetryPipeline telemetryPipeline, TelemetrySampler telemetrySampler,
+                         LatencyAggregator latencyAggregator, ExceptionDeduplicator exceptionDeduplicator) {
+        this.telemetryPipeline = telemetryPipeline;
+        this.telemetrySampler = telemetrySampler;
+        this.latencyAggregator = latencyAggregator;
+        this.exceptionDeduplicator = exceptionDeduplicator;
     }
 
     /**
@@ -30,24 +50,35 @@ public class TelemetryUtil {
      * @param resultCount Number of results returned (optional)
      */
     public void trackOperation(String eventName, Map<String, String> properties, long startTime, Double resultCount) {
-        Map<String, Double> metrics = new HashMap<>();
-        metrics.put("processingTimeMs", (double) (System.currentTimeMillis() - startTime));
+        trackDuration(eventName, properties, System.currentTimeMillis() - startTime, resultCount);
+    }
 
-        if (resultCount != null) {
-            metrics.put("resultCount", resultCount);
+    /**
+     * Tracks an operation whose duration was measured by the caller.
+     *
+     * @param eventName Event name to track
+     * @param properties Properties to add to the event
+     * @param processingTimeMs Operation duration in milliseconds
+     * @param resultCount Number of results returned (optional)
+     */
+    public void trackDuration(String eventName, Map<String, String> properties, double processingTimeMs, Double resultCount) {
+        latencyAggregator.record(eventName, processingTimeMs);
+        double samplingWeight = telemetrySampler.sample(eventName, processingTimeMs);
+        if (samplingWeight == TelemetrySampler.DROP) {
+            return;
         }
-
-        telemetryClient.trackEvent(eventName, properties, metrics);
+        telemetryPipeline.publish(TelemetryEvent.event(eventName, properties, processingTimeMs, resultCount, samplingWeight));
     }
 
     /**
-     * Tracks an operation with performance metrics.
+     * Tracks an event that has no duration, such as a rejected request. It is not sampled and does
+     * not feed the latency statistics.
      *
-     * @param metricName Metric name to track
-     * @param processingTime Processing time in milliseconds
+     * @param eventName Event name to track
+     * @param properties Properties to add to the event
      */
-    public void trackPerformance(String metricName, double processingTime) {
-        telemetryClient.trackMetric(metricName, processingTime);
+    public void trackEvent(String eventName, Map<String, String> properties) {
+        telemetryPipeline.publish(TelemetryEvent.event(eventName, properties));
     }
 
     /**
@@ -57,25 +88,13 @@ public class TelemetryUtil {
      * @param properties Properties providing context about the exception
      */
     public void trackException(Exception exception, Map<String, String> properties) {
-        telemetryClient.trackException(exception, properties, null);
-    }
-
-    /**
-     * Creates a property map with endpoint information.
-     *
-     * @param method HTTP method (GET, POST, etc.)
-     * @param path API path
-     * @param entityId Optional entity ID
-     * @return Map of properties
-     */
-    public Map<String, String> createEndpointProperties(String method, String path, String entityId) {
-        Map<String, String> properties = new HashMap<>();
-        properties.put("endpoint", method + " " + path);
-
-        if (entityId != null) {
-            properties.put("entityId", entityId);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            if (request.getAttribute(TRACKED_EXCEPTION_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == exception) {
+                return;
+            }
+            request.setAttribute(TRACKED_EXCEPTION_ATTRIBUTE, exception, RequestAttributes.SCOPE_REQUEST);
         }
-
-        return properties;
+        exceptionDeduplicator.track(exception, properties);
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+package com.nexacloud.demoappinsights.util.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to the observed latency of the calls it admits.
+ *
+ * <p>
+ * The limiter keeps two exponential moving averages of the call latency: a long one that tracks
+ * the latency of the downstream when it is healthy, and a short one that tracks the latency right
+ * now. After every call the limit is multiplied by their ratio (the gradient, capped to [0.5, 1])
+ * and grown by a small headroom of {@code sqrt(limit)}, then smoothed. While latency is stable the
+ * limit keeps growing; as soon as calls start queueing somewhere below (connection pool, database
+ * locks) the short average rises and the limit shrinks towards what the downstream can serve.
+ * Calls that fail for infrastructure reasons are treated as drops and cut the limit
+ * multiplicatively. The limit only grows while at least half of it is in use, so an idle
+ * service does not build up a limit it has never been tested with.
+ * </p>
+ *
+ * <p>
+ * {@link #tryAcquire()} never waits: when the limit is reached the call is rejected right away,
+ * which is what keeps request threads from piling up behind a slow database.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder {
+
+    private static final double SHORT_SMOOTHING = 0.1;
+    private static final double LONG_SMOOTHING = 0.002;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double TOLERANCE = 1.5;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": min " + minLimit + ", max " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Admits a call if the limit allows it.
+     *
+     * @return Whether the call was admitted; admitted calls must report back with
+     * {@link #onSuccess(long)}, {@link #onDropped()} or {@link #onIgnored()}
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        accepted.increment();
+        return true;
+    }
+
+    /**
+     * Completes an admitted call and feeds its latency into the limit.
+     *
+     * @param rttNanos Duration of the call
+     */
+    public void onSuccess(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(rttNanos, inFlightBefore);
+    }
+
+    /**
+     * Completes an admitted call that failed because the downstream could not serve it in time.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        dropped.increment();
+        synchronized (this) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_BACKOFF);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Completes an admitted call without using it to adjust the limit.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return The current concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Number of calls currently admitted
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Number of calls rejected since startup
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Name of the limiter, used as the metric tag
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("limiter", name)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("concurrency.limiter.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("limiter", name)
+                .description("Calls currently admitted by the limiter")
+                .register(registry);
+        FunctionCounter.builder("concurrency.limiter.calls", accepted, LongAdder::sum)
+                .tag("limiter", name).tag("result", "accepted")
+                .description("Calls admitted by the limiter")
+                .register(registry);
+        FunctionCounter.builder("concurrency.limiter.calls", rejected, LongAdder::sum)
+                .tag("limiter", name).tag("result", "rejected")
+                .description("Calls rejected because the limit was reached")
+                .register(registry);
+        FunctionCounter.builder("concurrency.limiter.calls", dropped, LongAdder::sum)
+                .tag("limiter", name).tag("result", "dropped")
+                .description("Admitted calls that failed because the downstream could not serve them")
+                .register(registry);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBefore) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += SHORT_SMOOTHING * (rttNanos - shortRttNanos);
+        longRttNanos += LONG_SMOOTHING * (rttNanos - longRttNanos);
+
+        // Let the baseline follow a lasting drop in latency instead of waiting for the slow average
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+
+        // An app-limited period says nothing about how much more the downstream could take
+        if (inFlightBefore * 2 < estimatedLimit && shortRttNanos <= longRttNanos * TOLERANCE) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,102 @@
+package com.nexacloud.demoappinsights.util.concurrency;
+
+import com.nexacloud.demoappinsights.exception.BaseAppInsightsException;
+import com.nexacloud.demoappinsights.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+/**
+ * Admission control in front of the product services.
+ *
+ * <p>
+ * Reads ({@code ProductFetchService}) and writes (create, update, delete and batch) go through
+ * separate {@link AdaptiveConcurrencyLimiter}s, so a burst of slow writes cannot starve reads and
+ * the other way round. Calls over the limit fail immediately with a
+ * {@link ServiceOverloadedException} (503 with Retry-After). The streaming export is not limited:
+ * its duration depends on the client, not on the database. Neither are queued updates: they are
+ * bounded by the update queue and do not touch the database in the request.
+ * </p>
+ *
+ * <p>
+ * The aspect runs outside the operation telemetry and the transaction, so a rejected call never
+ * opens a transaction or asks the pool for a connection.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@ConditionalOnProperty(name = "product.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitAspect implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitAspect(@Value("${product.concurrency-limit.reads.initial-limit:20}") int readsInitialLimit,
+                                  @Value("${product.concurrency-limit.reads.max-limit:200}") int readsMaxLimit,
+                                  @Value("${product.concurrency-limit.writes.initial-limit:10}") int writesInitialLimit,
+                                  @Value("${product.concurrency-limit.writes.max-limit:100}") int writesMaxLimit,
+                                  @Value("${product.concurrency-limit.min-limit:2}") int minLimit,
+                                  @Value("${product.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        this.reads = new AdaptiveConcurrencyLimiter("reads", readsInitialLimit, minLimit, readsMaxLimit);
+        this.writes = new AdaptiveConcurrencyLimiter("writes", writesInitialLimit, minLimit, writesMaxLimit);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Around("execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductFetchService.*(..))")
+    public Object limitReads(ProceedingJoinPoint joinPoint) throws Throwable {
+        return limit(reads, joinPoint);
+    }
+
+    @Around("(execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductCreateService.*(..))"
+            + " || execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductUpdateService.*(..))"
+            + " || execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductDeleteService.*(..))"
+            + " || execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductBatchService.*(..)))"
+            + " && !execution(* com.nexacloud.demoappinsights.service.interfaces.product.ProductUpdateService.queueProductUpdate(..))")
+    public Object limitWrites(ProceedingJoinPoint joinPoint) throws Throwable {
+        return limit(writes, joinPoint);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        reads.bindTo(registry);
+        writes.bindTo(registry);
+    }
+
+    private Object limit(AdaptiveConcurrencyLimiter limiter, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(limiter.getName(), retryAfterSeconds);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limiter.onSuccess(System.nanoTime() - startNanos);
+            return result;
+        } catch (BaseAppInsightsException e) {
+            // Not found, invalid input, ... were still answered by the downstream
+            limiter.onSuccess(System.nanoTime() - startNanos);
+            throw e;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            limiter.onDropped();
+            throw e;
+        } catch (Throwable t) {
+            limiter.onIgnored();
+            throw t;
+        }
+    }
+}
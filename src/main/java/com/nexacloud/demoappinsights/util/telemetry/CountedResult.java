@@ -0,0 +1,14 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+/**
+ * Return value of a {@link TrackedOperation} that knows how many results it carries.
+ *
+ * @author Priyonuj Dey
+ */
+public interface CountedResult {
+
+    /**
+     * @return Number of results, reported as the operation's result count
+     */
+    int resultCount();
+}
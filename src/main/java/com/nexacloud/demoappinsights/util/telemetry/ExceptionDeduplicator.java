@@ -0,0 +1,171 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collapses repeated exceptions into counts.
+ *
+ * <p>
+ * Each exception is fingerprinted by its type, its message with numbers masked (so "Product with
+ * ID 42 not found" and "... ID 43 ..." match) and its origin: the top stack frame, or the
+ * operation/endpoint property for exceptions created without a stack trace. The first occurrence
+ * of a fingerprint is sent right away. Further occurrences within the window are only counted, and
+ * when the window closes they are sent as a single item with {@code itemCount} equal to the count.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class ExceptionDeduplicator {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final TelemetryPipeline telemetryPipeline;
+    private final long windowMs;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public ExceptionDeduplicator(TelemetryPipeline telemetryPipeline,
+                                 @Value("${telemetry.exceptions.dedup-window-ms:60000}") long windowMs) {
+        this.telemetryPipeline = telemetryPipeline;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Starts closing expired windows.
+     */
+    @PostConstruct
+    public void start() {
+        if (windowMs <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-exception-dedup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMs = Math.max(100, windowMs / 4);
+        scheduler.scheduleAtFixedRate(() -> closeWindows(false), sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the sweep and sends the counts of all open windows.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        closeWindows(true);
+    }
+
+    /**
+     * Sends the exception, or counts it if the same fingerprint was already sent in the current window.
+     *
+     * @param exception Exception to track
+     * @param properties Properties providing context about the exception
+     */
+    public void track(Exception exception, Map<String, String> properties) {
+        if (windowMs <= 0) {
+            telemetryPipeline.publish(TelemetryEvent.exception(exception, properties));
+            return;
+        }
+
+        String fingerprint = fingerprint(exception, properties);
+        while (true) {
+            Window window = windows.get(fingerprint);
+            if (window == null) {
+                Window opened = new Window(exception, properties, System.currentTimeMillis());
+                if (windows.putIfAbsent(fingerprint, opened) == null) {
+                    telemetryPipeline.publish(TelemetryEvent.exception(exception, properties));
+                    return;
+                }
+            } else if (window.duplicates.getAndIncrement() >= 0) {
+                return;
+            }
+            // The window was closed concurrently, open a new one
+        }
+    }
+
+    /**
+     * @return Number of fingerprints with an open window
+     */
+    public int openWindows() {
+        return windows.size();
+    }
+
+    private void closeWindows(boolean all) {
+        long now = System.currentTimeMillis();
+        windows.forEach((fingerprint, window) -> {
+            if (!all && now - window.openedAt < windowMs) {
+                return;
+            }
+            long duplicates = window.duplicates.getAndSet(CLOSED);
+            windows.remove(fingerprint, window);
+            if (duplicates > 0) {
+                Map<String, String> properties = window.properties != null
+                        ? new HashMap<>(window.properties)
+                        : new HashMap<>();
+                properties.put("duplicateCount", String.valueOf(duplicates));
+                properties.put("fingerprint", fingerprint);
+                telemetryPipeline.publish(TelemetryEvent.exception(window.exception, properties, duplicates));
+            }
+        });
+    }
+
+    static String fingerprint(Exception exception, Map<String, String> properties) {
+        StringBuilder fingerprint = new StringBuilder(128).append(exception.getClass().getName()).append('|');
+
+        String message = exception.getMessage();
+        if (message != null) {
+            boolean inNumber = false;
+            for (int i = 0; i < message.length(); i++) {
+                char c = message.charAt(i);
+                if (Character.isDigit(c)) {
+                    if (!inNumber) {
+                        fingerprint.append('#');
+                    }
+                    inNumber = true;
+                } else {
+                    fingerprint.append(c);
+                    inNumber = false;
+                }
+            }
+        }
+        fingerprint.append('|');
+
+        StackTraceElement[] stackTrace = exception.getStackTrace();
+        if (stackTrace.length > 0) {
+            fingerprint.append(stackTrace[0].getClassName()).append('.').append(stackTrace[0].getMethodName());
+        } else if (properties != null) {
+            String origin = properties.get("operation");
+            fingerprint.append(origin != null ? origin : properties.get("endpoint"));
+        }
+        return fingerprint.toString();
+    }
+
+    private static final class Window {
+        private final Exception exception;
+        private final Map<String, String> properties;
+        private final long openedAt;
+        private final AtomicLong duplicates = new AtomicLong();
+
+        private Window(Exception exception, Map<String, String> properties, long openedAt) {
+            this.exception = exception;
+            this.properties = properties;
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}, or the difference between two such copies.
+ *
+ * <p>
+ * Percentiles, minimum and maximum are reported as the highest value equivalent to their bucket,
+ * in milliseconds.
+ * </p>
+ *
+ * @param counts Count per bucket
+ * @param count Total number of recorded values
+ * @param sumMs Sum of the recorded values in milliseconds
+ * @param sumSquaresMs Sum of the squared recorded values in milliseconds squared
+ * @author Priyonuj Dey
+ */
+public record HistogramSnapshot(long[] counts, long count, double sumMs, double sumSquaresMs) {
+
+    /**
+     * @return An empty snapshot
+     */
+    public static HistogramSnapshot empty() {
+        return new HistogramSnapshot(new long[LatencyHistogram.BUCKET_COUNT], 0, 0, 0);
+    }
+
+    /**
+     * Returns what was recorded after {@code earlier} was taken.
+     *
+     * @param earlier An earlier snapshot of the same histogram
+     * @return The difference between the snapshots
+     */
+    public HistogramSnapshot minus(HistogramSnapshot earlier) {
+        long[] delta = new long[counts.length];
+        long deltaCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            delta[i] = Math.max(0, counts[i] - earlier.counts[i]);
+            deltaCount += delta[i];
+        }
+        return new HistogramSnapshot(delta, deltaCount, Math.max(0, sumMs - earlier.sumMs),
+                Math.max(0, sumSquaresMs - earlier.sumSquaresMs));
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100
+     * @return The value at the percentile in milliseconds, or 0 if nothing was recorded
+     */
+    public double percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.highestValueAt(i) / 1000.0;
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @return The smallest recorded value in milliseconds, or 0 if nothing was recorded
+     */
+    public double min() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.highestValueAt(i) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The largest recorded value in milliseconds, or 0 if nothing was recorded
+     */
+    public double max() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.highestValueAt(i) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return The mean of the recorded values in milliseconds, or 0 if nothing was recorded
+     */
+    public double mean() {
+        return count == 0 ? 0 : sumMs / count;
+    }
+
+    /**
+     * @return The population standard deviation of the recorded values in milliseconds
+     */
+    public double standardDeviation() {
+        if (count == 0) {
+            return 0;
+        }
+        double mean = mean();
+        return Math.sqrt(Math.max(0, sumSquaresMs / count - mean * mean));
+    }
+}
@@ -0,0 +1,147 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates operation latencies in-process, per name.
+ *
+ * <p>
+ * Every recorded latency goes into a {@link LatencyHistogram} for its name. Once per interval the
+ * aggregator publishes a single pre-aggregated metric per name (count, sum, min, max, standard
+ * deviation and percentiles of the interval) instead of one telemetry item per call. Live
+ * statistics are available through {@link #report()}.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class LatencyAggregator {
+
+    private final TelemetryPipeline telemetryPipeline;
+    private final long intervalMs;
+    private final int stripes;
+
+    private final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public LatencyAggregator(TelemetryPipeline telemetryPipeline,
+                             @Value("${telemetry.aggregation.interval-ms:60000}") long intervalMs,
+                             @Value("${telemetry.aggregation.stripes:0}") int stripes) {
+        this.telemetryPipeline = telemetryPipeline;
+        this.intervalMs = intervalMs;
+        this.stripes = stripes > 0 ? stripes : Math.min(16, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Starts the periodic flush.
+     */
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "telemetry-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::flush, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic flush and publishes the last partial interval.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param name Metric name
+     * @param valueMs Latency in milliseconds
+     */
+    public void record(String name, double valueMs) {
+        Series current = series.get(name);
+        if (current == null) {
+            current = series.computeIfAbsent(name, key -> new Series(new LatencyHistogram(stripes)));
+        }
+        current.histogram.recordMillis(valueMs);
+    }
+
+    /**
+     * Publishes one pre-aggregated metric per name for the values recorded since the previous flush.
+     */
+    public synchronized void flush() {
+        series.forEach((name, current) -> {
+            HistogramSnapshot snapshot = current.histogram.snapshot();
+            HistogramSnapshot interval = snapshot.minus(current.flushed);
+            current.flushed = snapshot;
+            current.lastInterval = interval;
+            if (interval.count() > 0) {
+                telemetryPipeline.publish(TelemetryEvent.aggregate(name, interval));
+            }
+        });
+    }
+
+    /**
+     * @return Latency statistics per name, since startup and for the last completed interval
+     */
+    public Map<String, LatencyReport> report() {
+        Map<String, LatencyReport> report = new TreeMap<>();
+        series.forEach((name, current) -> report.put(name, report(current)));
+        return report;
+    }
+
+    /**
+     * @param name Metric name
+     * @return Latency statistics for the name, or null if nothing was recorded under it
+     */
+    public LatencyReport report(String name) {
+        Series current = series.get(name);
+        return current != null ? report(current) : null;
+    }
+
+    private LatencyReport report(Series current) {
+        return new LatencyReport(LatencyStats.of(current.histogram.snapshot()), LatencyStats.of(current.lastInterval));
+    }
+
+    private static final class Series {
+        private final LatencyHistogram histogram;
+        private HistogramSnapshot flushed = HistogramSnapshot.empty();
+        private volatile HistogramSnapshot lastInterval = HistogramSnapshot.empty();
+
+        private Series(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+    }
+
+    /**
+     * Latency statistics of one name.
+     *
+     * @param sinceStart Everything recorded since startup
+     * @param lastInterval The last completed aggregation interval
+     */
+    public record LatencyReport(LatencyStats sinceStart, LatencyStats lastInterval) {
+    }
+
+    /**
+     * Summary of a latency distribution in milliseconds.
+     */
+    public record LatencyStats(long count, double mean, double p50, double p90, double p99, double max) {
+
+        static LatencyStats of(HistogramSnapshot snapshot) {
+            return new LatencyStats(snapshot.count(), snapshot.mean(), snapshot.percentile(50),
+                    snapshot.percentile(90), snapshot.percentile(99), snapshot.max());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/latency}) exposing live latency percentiles per operation.
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final LatencyAggregator latencyAggregator;
+
+    @ReadOperation
+    public Map<String, LatencyAggregator.LatencyReport> latencies() {
+        return latencyAggregator.report();
+    }
+
+    @ReadOperation
+    public LatencyAggregator.LatencyReport latency(@Selector String name) {
+        return latencyAggregator.report(name);
+    }
+}
@@ -0,0 +1,115 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, striped latency histogram with HDR-style log-linear buckets.
+ *
+ * <p>
+ * Values are recorded in microseconds. Values below {@value #SUB_BUCKET_COUNT} get a bucket each;
+ * above that, every power of two is split into {@value #HALF_SUB_BUCKET_COUNT} linear sub-buckets,
+ * which bounds the relative error of any reported value to under 1.6%. Values above
+ * {@link #MAX_VALUE_MICROS} are clamped.
+ * </p>
+ *
+ * <p>
+ * Counts only ever grow. Recording threads are spread over several stripes of bucket counters to
+ * avoid contending on the same cache lines, and a reader merges the stripes into a
+ * {@link HistogramSnapshot}. Interval statistics are obtained by subtracting two snapshots, so
+ * the histogram never has to be reset or swapped while threads are recording.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /**
+     * Largest recordable value (about 73 minutes).
+     */
+    public static final long MAX_VALUE_MICROS = (1L << 32) - 1;
+
+    static final int BUCKET_COUNT = indexOf(MAX_VALUE_MICROS) + 1;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder sumMicros = new LongAdder();
+    private final DoubleAdder sumSquaresMs = new DoubleAdder();
+
+    /**
+     * @param stripeCount Number of stripes, rounded up to a power of two
+     */
+    public LatencyHistogram(int stripeCount) {
+        int stripes = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new AtomicLongArray[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param valueMs Latency in milliseconds (negative values are recorded as 0)
+     */
+    public void recordMillis(double valueMs) {
+        long micros = Math.min(MAX_VALUE_MICROS, Math.max(0, Math.round(valueMs * 1000)));
+        stripes[stripe()].incrementAndGet(indexOf(micros));
+        sumMicros.add(micros);
+        double clampedMs = micros / 1000.0;
+        sumSquaresMs.add(clampedMs * clampedMs);
+    }
+
+    /**
+     * @return A snapshot of everything recorded so far
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        return new HistogramSnapshot(counts, count, sumMicros.sum() / 1000.0, sumSquaresMs.sum());
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        id ^= id >>> 17;
+        id *= 0xed5ad4bbL;
+        return (int) (id ^ (id >>> 11)) & stripeMask;
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (micros >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (subBucket - HALF_SUB_BUCKET_COUNT);
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = offset % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return subBucket << shift;
+    }
+
+    static long highestValueAt(int index) {
+        return index + 1 < BUCKET_COUNT ? lowestValueAt(index + 1) - 1 : MAX_VALUE_MICROS;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+/**
+ * Overflow policy applied by the telemetry pipeline when its ring buffer is full.
+ *
+ * @author Priyonuj Dey
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Evicts the oldest queued event to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discards the event being published and keeps the queued ones.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Waits for the flusher to free a slot, up to the configured block timeout,
+     * and drops the event if no slot becomes available in time.
+     */
+    BLOCK
+}
@@ -0,0 +1,150 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import java.util.Map;
+
+/**
+ * Compact telemetry record handed from request threads to the telemetry pipeline.
+ *
+ * <p>
+ * Metrics are kept as primitives and only turned into the maps expected by the
+ * TelemetryClient on the flusher thread. A {@code resultCount} of {@link Double#NaN}
+ * means that no result count was supplied. A {@code samplingWeight} above 1 means the event
+ * was kept by the sampler and stands for that many events; on an exception it is the number
+ * of deduplicated occurrences.
+ * </p>
+ *
+ * @param kind The kind of telemetry item
+ * @param name Event or metric name (null for exceptions)
+ * @param properties Custom properties attached to the item (may be null)
+ * @param value Processing time in milliseconds for events (NaN if none), metric value for metrics
+ * @param resultCount Optional result count for events
+ * @param samplingWeight Number of events this item represents (1 when not sampled)
+ * @param aggregate Latency distribution of one interval (only for aggregate items)
+ * @param exception Exception to track (only for exception items)
+ * @author Priyonuj Dey
+ */
+public record TelemetryEvent(Kind kind,
+                             String name,
+                             Map<String, String> properties,
+                             double value,
+                             double resultCount,
+                             double samplingWeight,
+                             Exception exception,
+                             HistogramSnapshot aggregate) {
+
+    /**
+     * Kinds of telemetry items supported by the pipeline.
+     */
+    public enum Kind {
+        EVENT,
+        METRIC,
+        EXCEPTION,
+        AGGREGATE
+    }
+
+    /**
+     * Creates a custom event record without a processing time.
+     *
+     * @param name Event name
+     * @param properties Event properties
+     * @return A new event record
+     */
+    public static TelemetryEvent event(String name, Map<String, String> properties) {
+        return event(name, properties, Double.NaN, null);
+    }
+
+    /**
+     * Creates a custom event record.
+     *
+     * @param name Event name
+     * @param properties Event properties
+     * @param processingTimeMs Processing time in milliseconds
+     * @param resultCount Result count (optional)
+     * @return A new event record
+     */
+    public static TelemetryEvent event(String name, Map<String, String> properties, double processingTimeMs, Double resultCount) {
+        return event(name, properties, processingTimeMs, resultCount, 1);
+    }
+
+    /**
+     * Creates a custom event record kept by the sampler.
+     *
+     * @param name Event name
+     * @param properties Event properties
+     * @param processingTimeMs Processing time in milliseconds
+     * @param resultCount Result count (optional)
+     * @param samplingWeight Number of events this item represents
+     * @return A new event record
+     */
+    public static TelemetryEvent event(String name, Map<String, String> properties, double processingTimeMs,
+                                       Double resultCount, double samplingWeight) {
+        return new TelemetryEvent(Kind.EVENT, name, properties, processingTimeMs,
+                resultCount != null ? resultCount : Double.NaN, samplingWeight, null, null);
+    }
+
+    /**
+     * Creates a metric record.
+     *
+     * @param name Metric name
+     * @param value Metric value
+     * @return A new metric record
+     */
+    public static TelemetryEvent metric(String name, double value) {
+        return new TelemetryEvent(Kind.METRIC, name, null, value, Double.NaN, 1, null, null);
+    }
+
+    /**
+     * Creates a pre-aggregated metric record.
+     *
+     * @param name Metric name
+     * @param aggregate Latency distribution of the interval
+     * @return A new aggregate record
+     */
+    public static TelemetryEvent aggregate(String name, HistogramSnapshot aggregate) {
+        return new TelemetryEvent(Kind.AGGREGATE, name, null, aggregate.sumMs(), Double.NaN, 1, null, aggregate);
+    }
+
+    /**
+     * Creates an exception record.
+     *
+     * @param exception Exception to track
+     * @param properties Properties providing context about the exception
+     * @return A new exception record
+     */
+    public static TelemetryEvent exception(Exception exception, Map<String, String> properties) {
+        return exception(exception, properties, 1);
+    }
+
+    /**
+     * Creates an exception record standing for several occurrences of the same exception.
+     *
+     * @param exception Representative exception
+     * @param properties Properties providing context about the exception
+     * @param occurrences Number of occurrences this item represents
+     * @return A new exception record
+     */
+    public static TelemetryEvent exception(Exception exception, Map<String, String> properties, double occurrences) {
+        return new TelemetryEvent(Kind.EXCEPTION, null, properties, Double.NaN, Double.NaN, occurrences, exception, null);
+    }
+
+    /**
+     * @return true if a processing time was supplied for this event
+     */
+    public boolean hasProcessingTime() {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * @return true if a result count was supplied for this event
+     */
+    public boolean hasResultCount() {
+        return !Double.isNaN(resultCount);
+    }
+
+    /**
+     * @return true if this event was kept by the sampler and represents several events
+     */
+    public boolean isSampled() {
+        return samplingWeight > 1;
+    }
+}
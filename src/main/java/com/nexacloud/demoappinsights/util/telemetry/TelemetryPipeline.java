@@ -0,0 +1,253 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.EventTelemetry;
+import com.microsoft.applicationinsights.telemetry.ExceptionTelemetry;
+import com.microsoft.applicationinsights.telemetry.MetricTelemetry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, batched telemetry pipeline.
+ *
+ * <p>
+ * Request threads publish compact {@link TelemetryEvent} records into a bounded lock-free
+ * ring buffer and return immediately. A single background flusher thread drains the buffer
+ * in batches and forwards the items to the {@link TelemetryClient}. When the buffer is full
+ * the configured {@link OverflowPolicy} decides what happens to the new event.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Slf4j
+@Component
+public class TelemetryPipeline implements MeterBinder {
+
+    private static final long BLOCK_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final TelemetryClient telemetryClient;
+    private final TelemetryRingBuffer<TelemetryEvent> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public TelemetryPipeline(TelemetryClient telemetryClient,
+                             @Value("${telemetry.pipeline.capacity:8192}") int capacity,
+                             @Value("${telemetry.pipeline.batch-size:256}") int batchSize,
+                             @Value("${telemetry.pipeline.flush-interval-ms:200}") long flushIntervalMs,
+                             @Value("${telemetry.pipeline.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                             @Value("${telemetry.pipeline.block-timeout-ms:100}") long blockTimeoutMs) {
+        this.telemetryClient = telemetryClient;
+        this.buffer = new TelemetryRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+    }
+
+    /**
+     * Starts the background flusher thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::runFlusher, "telemetry-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Stops the flusher, drains whatever is still buffered and flushes the TelemetryClient.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        while (drainBatch() > 0) {
+            // Keep draining until the buffer is empty
+        }
+        telemetryClient.flush();
+    }
+
+    /**
+     * Publishes an event to the pipeline without waiting for it to be sent.
+     *
+     * @param event Event to publish
+     * @return true if the event was queued, false if it was dropped
+     */
+    public boolean publish(TelemetryEvent event) {
+        if (buffer.offer(event)) {
+            enqueued.increment();
+            return true;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST -> {
+                while (!buffer.offer(event)) {
+                    if (buffer.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                enqueued.increment();
+                return true;
+            }
+            case BLOCK -> {
+                long deadline = System.nanoTime() + blockTimeoutNanos;
+                while (!buffer.offer(event)) {
+                    if (System.nanoTime() - deadline > 0) {
+                        dropped.increment();
+                        return false;
+                    }
+                    LockSupport.parkNanos(BLOCK_BACKOFF_NANOS);
+                }
+                enqueued.increment();
+                return true;
+            }
+            default -> {
+                dropped.increment();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return Number of events accepted into the buffer
+     */
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    /**
+     * @return Number of events discarded because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return Number of events forwarded to the TelemetryClient
+     */
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    /**
+     * @return Number of events currently waiting in the buffer
+     */
+    public int getQueueSize() {
+        return buffer.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.pipeline.enqueued", enqueued, LongAdder::sum)
+                .description("Telemetry events accepted into the pipeline")
+                .register(registry);
+        FunctionCounter.builder("telemetry.pipeline.dropped", dropped, LongAdder::sum)
+                .description("Telemetry events dropped because the pipeline was full")
+                .register(registry);
+        FunctionCounter.builder("telemetry.pipeline.flushed", flushed, LongAdder::sum)
+                .description("Telemetry events forwarded to Application Insights")
+                .register(registry);
+        FunctionCounter.builder("telemetry.pipeline.failed", failed, LongAdder::sum)
+                .description("Telemetry events the TelemetryClient failed to accept")
+                .register(registry);
+        Gauge.builder("telemetry.pipeline.queue.size", buffer, TelemetryRingBuffer::size)
+                .description("Telemetry events waiting to be flushed")
+                .register(registry);
+    }
+
+    private void runFlusher() {
+        while (running) {
+            int drained = drainBatch();
+            if (drained < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    private int drainBatch() {
+        int drained = 0;
+        TelemetryEvent event;
+        while (drained < batchSize && (event = buffer.poll()) != null) {
+            send(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void send(TelemetryEvent event) {
+        try {
+            switch (event.kind()) {
+                case EVENT -> {
+                    EventTelemetry telemetry = new EventTelemetry(event.name());
+                    if (event.properties() != null) {
+                        telemetry.getProperties().putAll(event.properties());
+                    }
+                    if (event.hasProcessingTime()) {
+                        telemetry.getMetrics().put("processingTimeMs", event.value());
+                    }
+                    if (event.hasResultCount()) {
+                        telemetry.getMetrics().put("resultCount", event.resultCount());
+                    }
+                    if (event.isSampled()) {
+                        // Lets Application Insights report itemCount = weight for this item
+                        telemetry.setSamplingPercentage(100.0 / event.samplingWeight());
+                        telemetry.getMetrics().put("samplingWeight", event.samplingWeight());
+                    }
+                    telemetryClient.trackEvent(telemetry);
+                }
+                case METRIC -> telemetryClient.trackMetric(event.name(), event.value());
+                case AGGREGATE -> telemetryClient.trackMetric(toMetricTelemetry(event.name(), event.aggregate()));
+                case EXCEPTION -> {
+                    ExceptionTelemetry telemetry = new ExceptionTelemetry(event.exception());
+                    if (event.properties() != null) {
+                        telemetry.getProperties().putAll(event.properties());
+                    }
+                    if (event.isSampled()) {
+                        // Deduplicated occurrences, reported as itemCount = weight
+                        telemetry.setSamplingPercentage(100.0 / event.samplingWeight());
+                    }
+                    telemetryClient.trackException(telemetry);
+                }
+            }
+            flushed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to send telemetry item {}", event.name(), e);
+        }
+    }
+
+    private MetricTelemetry toMetricTelemetry(String name, HistogramSnapshot aggregate) {
+        MetricTelemetry telemetry = new MetricTelemetry(name, aggregate.sumMs());
+        telemetry.setCount((int) Math.min(Integer.MAX_VALUE, aggregate.count()));
+        telemetry.setMin(aggregate.min());
+        telemetry.setMax(aggregate.max());
+        telemetry.setStandardDeviation(aggregate.standardDeviation());
+        telemetry.getProperties().put("p50", String.valueOf(aggregate.percentile(50)));
+        telemetry.getProperties().put("p90", String.valueOf(aggregate.percentile(90)));
+        telemetry.getProperties().put("p99", String.valueOf(aggregate.percentile(99)));
+        return telemetry;
+    }
+}
@@ -0,0 +1,110 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer/multi-consumer ring buffer.
+ *
+ * <p>
+ * Each slot carries a sequence number that tells producers and consumers whether the
+ * slot is free or holds a published element, so neither side ever takes a lock.
+ * Multiple consumers are supported because producers applying the drop-oldest
+ * overflow policy evict elements concurrently with the flusher.
+ * </p>
+ *
+ * @param <E> Type of the buffered elements
+ * @author Priyonuj Dey
+ */
+public class TelemetryRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates a ring buffer. The capacity is rounded up to the next power of two.
+     *
+     * @param requestedCapacity Minimum number of elements the buffer can hold
+     */
+    public TelemetryRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("Ring buffer capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Appends an element if there is free space.
+     *
+     * @param element Element to append
+     * @return true if the element was appended, false if the buffer is full
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // Another producer claimed this position first, retry with the new tail
+        }
+    }
+
+    /**
+     * Removes the oldest element.
+     *
+     * @return The oldest element, or null if the buffer is empty
+     */
+    public E poll() {
+        while (true) {
+            long position = head.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E element = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+            // Another consumer took this element first, retry with the new head
+        }
+    }
+
+    /**
+     * @return Approximate number of buffered elements
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * @return Maximum number of elements the buffer can hold
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,254 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-adaptive sampler for custom telemetry events.
+ *
+ * <p>
+ * The sampler keeps the rate of sent events close to a target budget (events per second).
+ * Every adjustment interval the observed rate of each event name is smoothed, and the budget is
+ * shared between the names by water-filling: rare events keep a sampling probability of 1, and the
+ * remaining budget is split evenly between the frequent ones. Names with a configured fixed rate
+ * ({@code telemetry.sampling.event-rates.<name>}) use that rate instead.
+ * </p>
+ *
+ * <p>
+ * Slow operations and names listed in {@code telemetry.sampling.always-keep-events} are never
+ * sampled out. Each kept event gets a weight of {@code 1 / probability}, so counts can be
+ * reconstructed by summing weights. The adjustment runs inline on the first call after the interval
+ * has elapsed, so the sampler needs no thread of its own.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+public class TelemetrySampler implements MeterBinder {
+
+    /**
+     * Weight returned for an event that should be dropped.
+     */
+    public static final double DROP = 0;
+
+    private static final double RATE_SMOOTHING = 0.5;
+
+    private final Map<String, Double> fixedRates;
+    private final Set<String> alwaysKeepEvents;
+    private final long adjustIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final DoubleSupplier random;
+
+    private volatile boolean enabled;
+    private volatile double targetEventsPerSecond;
+    private volatile double slowOperationMs;
+
+    private final ConcurrentHashMap<String, EventStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong nextAdjustNanos;
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder kept = new LongAdder();
+
+    @Autowired
+    public TelemetrySampler(Environment environment,
+                            @Value("${telemetry.sampling.enabled:true}") boolean enabled,
+                            @Value("${telemetry.sampling.target-events-per-second:50}") double targetEventsPerSecond,
+                            @Value("${telemetry.sampling.slow-operation-ms:1000}") double slowOperationMs,
+                            @Value("${telemetry.sampling.adjust-interval-ms:1000}") long adjustIntervalMs,
+                            @Value("${telemetry.sampling.always-keep-events:}") Set<String> alwaysKeepEvents) {
+        this(environment, enabled, targetEventsPerSecond, slowOperationMs, adjustIntervalMs, alwaysKeepEvents,
+                System::nanoTime, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    TelemetrySampler(Environment environment, boolean enabled, double targetEventsPerSecond, double slowOperationMs,
+                     long adjustIntervalMs, Set<String> alwaysKeepEvents, LongSupplier nanoClock, DoubleSupplier random) {
+        this.nanoClock = nanoClock;
+        this.random = random;
+        this.enabled = enabled;
+        this.targetEventsPerSecond = targetEventsPerSecond;
+        this.slowOperationMs = slowOperationMs;
+        this.adjustIntervalNanos = TimeUnit.MILLISECONDS.toNanos(adjustIntervalMs);
+        this.alwaysKeepEvents = Set.copyOf(alwaysKeepEvents);
+        this.fixedRates = Map.copyOf(Binder.get(environment)
+                .bind("telemetry.sampling.event-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of()));
+        this.nextAdjustNanos = new AtomicLong(nanoClock.getAsLong() + adjustIntervalNanos);
+    }
+
+    /**
+     * Decides whether an event is sent.
+     *
+     * @param eventName Event name
+     * @param processingTimeMs Processing time of the operation in milliseconds
+     * @return The sampling weight of the event (1 when not sampled), or {@link #DROP} to drop it
+     */
+    public double sample(String eventName, double processingTimeMs) {
+        if (!enabled) {
+            return 1;
+        }
+
+        long now = nanoClock.getAsLong();
+        long next = nextAdjustNanos.get();
+        if (now - next >= 0 && nextAdjustNanos.compareAndSet(next, now + adjustIntervalNanos)) {
+            adjust(now - next + adjustIntervalNanos);
+        }
+
+        EventStats eventStats = stats.computeIfAbsent(eventName, EventStats::new);
+        eventStats.seen.increment();
+
+        double probability = eventStats.probability;
+        if (probability >= 1 || processingTimeMs >= slowOperationMs || alwaysKeepEvents.contains(eventName)) {
+            kept.increment();
+            return 1;
+        }
+        if (random.getAsDouble() < probability) {
+            kept.increment();
+            return 1 / probability;
+        }
+        sampledOut.increment();
+        return DROP;
+    }
+
+    /**
+     * @return The current sampling settings and per-event statistics
+     */
+    public SamplingState state() {
+        List<EventSamplingState> events = stats.values().stream()
+                .sorted(Comparator.comparing(EventStats::getName))
+                .map(eventStats -> new EventSamplingState(eventStats.name, eventStats.ratePerSecond,
+                        eventStats.probability, fixedRates.containsKey(eventStats.name)))
+                .toList();
+        return new SamplingState(enabled, targetEventsPerSecond, slowOperationMs, kept.sum(), sampledOut.sum(), events);
+    }
+
+    /**
+     * Changes the sampling settings at runtime. Null arguments leave the setting unchanged.
+     *
+     * @param enabled Whether sampling is enabled
+     * @param targetEventsPerSecond New event budget
+     * @param slowOperationMs New slow operation threshold
+     */
+    public void configure(Boolean enabled, Double targetEventsPerSecond, Double slowOperationMs) {
+        if (targetEventsPerSecond != null) {
+            if (targetEventsPerSecond <= 0) {
+                throw new IllegalArgumentException("targetEventsPerSecond must be positive");
+            }
+            this.targetEventsPerSecond = targetEventsPerSecond;
+        }
+        if (slowOperationMs != null) {
+            this.slowOperationMs = slowOperationMs;
+        }
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("telemetry.sampling.kept", kept, LongAdder::sum)
+                .description("Telemetry events kept by the sampler")
+                .register(registry);
+        FunctionCounter.builder("telemetry.sampling.dropped", sampledOut, LongAdder::sum)
+                .description("Telemetry events dropped by the sampler")
+                .register(registry);
+    }
+
+    private synchronized void adjust(long elapsedNanos) {
+        double elapsedSeconds = Math.max(elapsedNanos, 1) / 1e9;
+        List<EventStats> adaptive = new ArrayList<>();
+        double budget = targetEventsPerSecond;
+
+        for (EventStats eventStats : stats.values()) {
+            double observed = eventStats.seen.sumThenReset() / elapsedSeconds;
+            eventStats.ratePerSecond = eventStats.ratePerSecond == 0 ? observed
+                    : RATE_SMOOTHING * observed + (1 - RATE_SMOOTHING) * eventStats.ratePerSecond;
+
+            Double fixedRate = fixedRates.get(eventStats.name);
+            if (fixedRate != null) {
+                eventStats.probability = Math.max(0, Math.min(1, fixedRate));
+                budget -= eventStats.ratePerSecond * eventStats.probability;
+            } else {
+                adaptive.add(eventStats);
+            }
+        }
+
+        // Water-filling: give every name an equal share, let quiet names return what they do not use
+        adaptive.sort(Comparator.comparingDouble(eventStats -> eventStats.ratePerSecond));
+        budget = Math.max(0, budget);
+        int remaining = adaptive.size();
+        for (EventStats eventStats : adaptive) {
+            double share = budget / remaining--;
+            if (eventStats.ratePerSecond <= share) {
+                eventStats.probability = 1;
+                budget -= eventStats.ratePerSecond;
+            } else {
+                eventStats.probability = share / eventStats.ratePerSecond;
+                budget -= share;
+            }
+        }
+    }
+
+    private static final class EventStats {
+        private final String name;
+        private final LongAdder seen = new LongAdder();
+        private volatile double ratePerSecond;
+        private volatile double probability = 1;
+
+        private EventStats(String name) {
+            this.name = name;
+        }
+
+        private String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Sampling settings and statistics.
+     *
+     * @param enabled Whether sampling is enabled
+     * @param targetEventsPerSecond Event budget
+     * @param slowOperationMs Operations at least this slow are always kept
+     * @param kept Events kept since startup
+     * @param dropped Events dropped since startup
+     * @param events Per-event statistics
+     */
+    public record SamplingState(boolean enabled,
+                                double targetEventsPerSecond,
+                                double slowOperationMs,
+                                long kept,
+                                long dropped,
+                                List<EventSamplingState> events) {
+    }
+
+    /**
+     * Sampling statistics of one event name.
+     *
+     * @param name Event name
+     * @param ratePerSecond Smoothed rate at which the event is produced
+     * @param probability Current probability of keeping the event
+     * @param fixedRate Whether the probability is configured rather than adaptive
+     */
+    public record EventSamplingState(String name, double ratePerSecond, double probability, boolean fixedRate) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint ({@code /actuator/telemetrysampling}) to inspect and tune telemetry sampling at runtime.
+ *
+ * <p>
+ * A POST with a JSON body such as {@code {"targetEventsPerSecond": 20}} changes the budget;
+ * {@code enabled} and {@code slowOperationMs} can be changed the same way.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Component
+@Endpoint(id = "telemetrysampling")
+@RequiredArgsConstructor
+public class TelemetrySamplingEndpoint {
+
+    private final TelemetrySampler telemetrySampler;
+
+    @ReadOperation
+    public TelemetrySampler.SamplingState state() {
+        return telemetrySampler.state();
+    }
+
+    @WriteOperation
+    public TelemetrySampler.SamplingState configure(@Nullable Boolean enabled,
+                                                    @Nullable Double targetEventsPerSecond,
+                                                    @Nullable Double slowOperationMs) {
+        if (targetEventsPerSecond != null && targetEventsPerSecond <= 0) {
+            throw new InvalidEndpointRequestException("targetEventsPerSecond must be positive",
+                    "Invalid targetEventsPerSecond");
+        }
+        telemetrySampler.configure(enabled, targetEventsPerSecond, slowOperationMs);
+        return telemetrySampler.state();
+    }
+}
@@ -0,0 +1,178 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Preallocated set of telemetry properties for one operation.
+ *
+ * <p>
+ * A template holds the property that never changes between calls (the operation name), built once,
+ * and the keys of the per-call slots. {@link #with(Object...)} only
+ * captures the slot values in a small immutable map view; the values are converted to strings when
+ * the telemetry item is sent, on the pipeline thread, and not at all when the item is sampled out.
+ * Slots with a null value are left out of the map.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+public final class TelemetryTemplate {
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final String[] constantKeys;
+    private final String[] constantValues;
+    private final String[] slotKeys;
+    private final Map<String, String> constantsOnly;
+
+    private TelemetryTemplate(String constantKey, String constantValue, String[] slotKeys) {
+        this.constantKeys = new String[]{constantKey};
+        this.constantValues = new String[]{constantValue};
+        this.slotKeys = slotKeys.clone();
+        this.constantsOnly = new TelemetryProperties(this, null, NO_VALUES);
+    }
+
+    /**
+     * Creates a template for a service operation.
+     *
+     * @param operation Operation name
+     * @param slotKeys Keys of the per-call properties
+     * @return The template
+     */
+    public static TelemetryTemplate operation(String operation, String... slotKeys) {
+        return new TelemetryTemplate("operation", operation, slotKeys);
+    }
+
+    /**
+     * Fills in the only per-call slot, without allocating a value array.
+     *
+     * @param value Slot value; null is omitted
+     * @return An immutable property map backed by the template
+     * @throws IllegalArgumentException if the template does not have exactly one slot
+     */
+    public Map<String, String> with(Object value) {
+        if (slotKeys.length != 1) {
+            throw new IllegalArgumentException("Expected " + slotKeys.length + " telemetry values but got 1");
+        }
+        return new TelemetryProperties(this, value, null);
+    }
+
+    /**
+     * Fills in the per-call slots.
+     *
+     * @param values One value per slot key, in order; null values are omitted
+     * @return An immutable property map backed by the template
+     * @throws IllegalArgumentException if the number of values does not match the slot keys
+     */
+    public Map<String, String> with(Object... values) {
+        if (values.length != slotKeys.length) {
+            throw new IllegalArgumentException("Expected " + slotKeys.length + " telemetry values but got " + values.length);
+        }
+        return values.length == 0 ? constantsOnly : new TelemetryProperties(this, null, values);
+    }
+
+    /**
+     * Immutable map view over a template and the slot values of one call.
+     */
+    private static final class TelemetryProperties extends AbstractMap<String, String> {
+
+        private final TelemetryTemplate template;
+        private final Object singleValue;
+        private final Object[] values;
+
+        private TelemetryProperties(TelemetryTemplate template, Object singleValue, Object[] values) {
+            this.template = template;
+            this.singleValue = singleValue;
+            this.values = values;
+        }
+
+        private Object value(int slot) {
+            return values != null ? values[slot] : singleValue;
+        }
+
+        @Override
+        public String get(Object key) {
+            String[] constantKeys = template.constantKeys;
+            for (int i = 0; i < constantKeys.length; i++) {
+                if (constantKeys[i].equals(key)) {
+                    return template.constantValues[i];
+                }
+            }
+            String[] slotKeys = template.slotKeys;
+            for (int i = 0; i < slotKeys.length; i++) {
+                if (slotKeys[i].equals(key)) {
+                    Object value = value(i);
+                    return value != null ? value.toString() : null;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            int size = template.constantKeys.length;
+            for (int i = 0; i < template.slotKeys.length; i++) {
+                if (value(i) != null) {
+                    size++;
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return TelemetryProperties.this.size();
+                }
+            };
+        }
+
+        private final class EntryIterator implements Iterator<Entry<String, String>> {
+
+            private int index = nextIndex(0);
+
+            @Override
+            public boolean hasNext() {
+                return index < template.constantKeys.length + template.slotKeys.length;
+            }
+
+            @Override
+            public Entry<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int constants = template.constantKeys.length;
+                Entry<String, String> entry = index < constants
+                        ? new SimpleImmutableEntry<>(template.constantKeys[index], template.constantValues[index])
+                        : new SimpleImmutableEntry<>(template.slotKeys[index - constants], value(index - constants).toString());
+                index = nextIndex(index + 1);
+                return entry;
+            }
+
+            private int nextIndex(int from) {
+                int constants = template.constantKeys.length;
+                int index = from;
+                while (index >= constants && index < constants + template.slotKeys.length && value(index - constants) == null) {
+                    index++;
+                }
+                return index;
+            }
+        }
+    }
+}
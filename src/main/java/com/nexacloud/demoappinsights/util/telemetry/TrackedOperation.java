@@ -0,0 +1,39 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as a logical operation tracked in Application Insights.
+ *
+ * <p>
+ * The {@link TrackedOperationAspect} times each call with {@link System#nanoTime()} and sends exactly
+ * one custom event per call, named {@link #value()}, with the properties {@code operation} (the method
+ * name), {@code success} and, for failed calls, {@code failure} (the exception type). The exception
+ * itself is tracked once as well. Return values that are collections, numbers or
+ * {@link CountedResult}s are reported as the event's result count.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TrackedOperation {
+
+    /**
+     * @return Name of the custom event sent for each call
+     */
+    String value();
+
+    /**
+     * Names of the method parameters to attach as event properties. Only use scalar parameters
+     * (IDs, prices, flags); their values are converted with {@code toString()}.
+     *
+     * @return Parameter names
+     */
+    String[] arguments() default {};
+}
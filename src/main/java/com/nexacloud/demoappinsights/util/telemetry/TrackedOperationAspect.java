@@ -0,0 +1,148 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends one telemetry event per call of a {@link TrackedOperation} method.
+ *
+ * <p>
+ * The aspect runs outside the transaction advice, so the measured time includes the commit and a
+ * failing commit is reported as a failed operation. Everything derived from the annotation (the
+ * property template and the positions of the tracked arguments) is resolved once per method. With
+ * {@code telemetry.operations.enabled=false} the aspect is not registered at all and the annotated
+ * methods are called without any interception.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@Aspect
+@Component
+// Just outside the transaction advice (LOWEST_PRECEDENCE), inside Spring's ExposeInvocationInterceptor
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "telemetry.operations.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TrackedOperationAspect {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final TelemetryUtil telemetryUtil;
+    private final Map<Method, OperationTelemetry> operations = new ConcurrentHashMap<>();
+
+    @Around("@annotation(trackedOperation)")
+    public Object track(ProceedingJoinPoint joinPoint, TrackedOperation trackedOperation) throws Throwable {
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            double processingTimeMs = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+            Map<String, String> properties = operation(joinPoint, trackedOperation).failure(joinPoint.getArgs(), t);
+            telemetryUtil.trackDuration(trackedOperation.value(), properties, processingTimeMs, null);
+            if (t instanceof Exception e) {
+                telemetryUtil.trackException(e, properties);
+            }
+            throw t;
+        }
+
+        double processingTimeMs = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+        OperationTelemetry operation = operation(joinPoint, trackedOperation);
+        telemetryUtil.trackDuration(trackedOperation.value(), operation.success(joinPoint.getArgs()),
+                processingTimeMs, resultCount(result));
+        return result;
+    }
+
+    private OperationTelemetry operation(ProceedingJoinPoint joinPoint, TrackedOperation trackedOperation) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationTelemetry operation = operations.get(method);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(method, key -> OperationTelemetry.of(key, trackedOperation));
+        }
+        return operation;
+    }
+
+    private static Double resultCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return (double) collection.size();
+        }
+        if (result instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (result instanceof CountedResult counted) {
+            return (double) counted.resultCount();
+        }
+        return null;
+    }
+
+    /**
+     * Property templates and argument positions of one tracked method.
+     */
+    private record OperationTelemetry(TelemetryTemplate success, TelemetryTemplate failure, int[] argumentIndexes) {
+
+        static OperationTelemetry of(Method method, TrackedOperation trackedOperation) {
+            String[] arguments = trackedOperation.arguments();
+            Parameter[] parameters = method.getParameters();
+            Map<String, Integer> indexByName = new HashMap<>();
+            for (int i = 0; i < parameters.length; i++) {
+                indexByName.put(parameters[i].getName(), i);
+            }
+
+            int[] argumentIndexes = new int[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                Integer index = indexByName.get(arguments[i]);
+                if (index == null) {
+                    throw new IllegalStateException("@TrackedOperation on " + method + " refers to unknown parameter '"
+                            + arguments[i] + "' (is the code compiled with -parameters?)");
+                }
+                argumentIndexes[i] = index;
+            }
+
+            String[] successKeys = Arrays.copyOf(arguments, arguments.length + 1);
+            successKeys[arguments.length] = "success";
+            String[] failureKeys = Arrays.copyOf(successKeys, successKeys.length + 1);
+            failureKeys[successKeys.length] = "failure";
+            return new OperationTelemetry(TelemetryTemplate.operation(method.getName(), successKeys),
+                    TelemetryTemplate.operation(method.getName(), failureKeys), argumentIndexes);
+        }
+
+        Map<String, String> success(Object[] args) {
+            if (argumentIndexes.length == 0) {
+                return success.with(Boolean.TRUE);
+            }
+            Object[] values = new Object[argumentIndexes.length + 1];
+            copyArguments(args, values);
+            values[argumentIndexes.length] = Boolean.TRUE;
+            return success.with(values);
+        }
+
+        Map<String, String> failure(Object[] args, Throwable failure) {
+            Object[] values = new Object[argumentIndexes.length + 2];
+            copyArguments(args, values);
+            values[argumentIndexes.length] = Boolean.FALSE;
+            values[argumentIndexes.length + 1] = failure.getClass().getSimpleName();
+            return this.failure.with(values);
+        }
+
+        private void copyArguments(Object[] args, Object[] values) {
+            for (int i = 0; i < argumentIndexes.length; i++) {
+                values[i] = args[argumentIndexes[i]];
+            }
+        }
+    }
+}
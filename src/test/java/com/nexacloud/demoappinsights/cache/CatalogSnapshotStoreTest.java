@@ -0,0 +1,109 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the {@link CatalogSnapshotStore} follows committed creates, updates and deletes,
+ * ending up with the same products as the database.
+ *
+ * <p>
+ * Runs against its own in-memory database with the snapshot enabled. Changes are applied on a
+ * background thread, so each test waits for the snapshot to catch up.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshottest",
+        "product.catalog-snapshot.enabled=true"})
+@AutoConfigureMockMvc
+class CatalogSnapshotStoreTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void snapshotFollowsUpdatesAndDeletes() throws Exception {
+        long kept = createProduct(10.0);
+        long deleted = createProduct(20.0);
+        for (double price = 11.0; price <= 15.0; price++) {
+            mockMvc.perform(patch("/api/products/{id}", kept)
+                            .contentType("application/merge-patch+json")
+                            .content("{\"price\":" + price + "}"))
+                    .andExpect(status().isAccepted());
+        }
+        mockMvc.perform(delete("/api/products/{id}", deleted))
+                .andExpect(status().isAccepted());
+
+        awaitSnapshotMatchesDatabase();
+        assertThat(catalogSnapshotStore.current().all())
+                .filteredOn(product -> product.getId() == kept)
+                .singleElement()
+                .satisfies(product -> {
+                    assertThat(product.getPrice()).isEqualTo(15.0);
+                    assertThat(product.getVersion()).isEqualTo(5L);
+                });
+        assertThat(catalogSnapshotStore.current().all()).noneMatch(product -> product.getId() == deleted);
+    }
+
+    @Test
+    void snapshotFollowsARangeDeletion() throws Exception {
+        createProduct(500.0);
+        createProduct(501.0);
+        long above = createProduct(502.5);
+
+        mockMvc.perform(delete("/api/products").param("minPrice", "500").param("maxPrice", "502"))
+                .andExpect(status().isAccepted());
+
+        awaitSnapshotMatchesDatabase();
+        assertThat(catalogSnapshotStore.current().fromMinPrice(500.0))
+                .extracting(ProductModel::getId)
+                .containsExactly(above);
+    }
+
+    private void awaitSnapshotMatchesDatabase() {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> describe(catalogSnapshotStore.current().all())
+                        .equals(describe(productRepository.findAll(Sort.by("id")))));
+    }
+
+    private static List<String> describe(List<ProductModel> products) {
+        return products.stream()
+                .map(product -> product.getId() + ":" + product.getPrice() + ":" + product.getVersion())
+                .toList();
+    }
+
+    private long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Snapshot\",\"description\":\"Description\",\"price\":" + price + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+}
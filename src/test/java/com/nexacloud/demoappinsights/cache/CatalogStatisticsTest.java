@@ -0,0 +1,110 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import com.nexacloud.demoappinsights.dto.response.ProductStatsRes;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that the incrementally maintained {@link CatalogStatistics} stay equal to the aggregate
+ * query over the database after creates, updates and deletes.
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogStatisticsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogStatistics catalogStatistics;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void reconcile() {
+        // Other tests write through the repository without publishing changes
+        catalogStatistics.reconcile();
+    }
+
+    @Test
+    void statisticsFollowCreateUpdateAndDelete() throws Exception {
+        long id = createProduct(9_000_000.5);
+        assertMatchesDatabase();
+        assertThat(catalogStatistics.snapshot().getMaxPrice()).isEqualTo(9_000_000.5);
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product(9_000_001.5)))
+                .andExpect(status().isAccepted());
+        assertMatchesDatabase();
+        assertThat(catalogStatistics.snapshot().getMaxPrice()).isEqualTo(9_000_001.5);
+
+        mockMvc.perform(delete("/api/products/{id}", id))
+                .andExpect(status().isAccepted());
+        assertMatchesDatabase();
+        assertThat(catalogStatistics.reconcile()).isTrue();
+    }
+
+    @Test
+    void statisticsFollowARangeDeletion() throws Exception {
+        createProduct(8_100.25);
+        createProduct(8_100.75);
+        createProduct(8_100.75);
+        assertMatchesDatabase();
+
+        mockMvc.perform(delete("/api/products").param("minPrice", "8100").param("maxPrice", "8101"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.deletedCount").value(3));
+
+        assertMatchesDatabase();
+        assertThat(catalogStatistics.reconcile()).isTrue();
+    }
+
+    private void assertMatchesDatabase() {
+        ProductStatsRes stats = catalogStatistics.snapshot();
+        ProductRepository.PriceSummary summary = productRepository.summarizePrices();
+
+        assertThat(stats.getCount()).isEqualTo(summary.getCount());
+        assertThat(stats.getMinPrice()).isEqualTo(summary.getMinPrice());
+        assertThat(stats.getMaxPrice()).isEqualTo(summary.getMaxPrice());
+        if (summary.getCount() == 0) {
+            assertThat(stats.getAveragePrice()).isNull();
+        } else {
+            assertThat(stats.getAveragePrice())
+                    .isCloseTo(summary.getTotalPrice() / summary.getCount(), within(1e-6));
+        }
+        assertThat(stats.getHistogram().stream().mapToLong(ProductStatsRes.PriceBucket::getCount).sum())
+                .isEqualTo(summary.getCount());
+    }
+
+    private long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product(price)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private static String product(double price) {
+        return "{\"name\":\"Stats\",\"description\":\"Description\",\"price\":" + price + "}";
+    }
+}
@@ -0,0 +1,77 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that {@link ProductCache} entries are invalidated when a product change commits, and only then.
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductCacheInvalidationTest {
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private ProductModel product;
+    private Function<Long, Optional<ProductModel>> loader;
+
+    @BeforeEach
+    void cacheProduct() {
+        product = productRepository.save(new ProductModel(null, "Cached", "Description", 10.0, null, null, null));
+        loader = id -> {
+            loads.incrementAndGet();
+            return productRepository.findById(id);
+        };
+        productCache.get(product.getId(), loader);
+        loads.set(0);
+    }
+
+    @Test
+    void changeInvalidatesTheProductOnlyOnceItCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productChangePublisher.updated(product);
+            productCache.get(product.getId(), loader);
+            assertThat(loads).as("loads before the commit").hasValue(0);
+        });
+
+        productCache.get(product.getId(), loader);
+        assertThat(loads).as("loads after the commit").hasValue(1);
+    }
+
+    @Test
+    void rolledBackChangeKeepsTheProductCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productChangePublisher.updated(product);
+            status.setRollbackOnly();
+        });
+
+        productCache.get(product.getId(), loader);
+        assertThat(loads).hasValue(0);
+    }
+}
@@ -0,0 +1,224 @@
+package com.nexacloud.demoappinsights.cache;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the loading, copying and expiry behaviour of {@link ProductCache}, on a fake clock.
+ *
+ * @author Priyonuj Dey
+ */
+class ProductCacheTest {
+
+    private static final int CALLERS = 16;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final ProductCache productCache = new ProductCache(100, Duration.ofMinutes(5), true, Duration.ofSeconds(30),
+            nanos::get);
+
+    @Test
+    void readersGetCopiesThatDoNotChangeTheCachedProduct() {
+        ProductModel loaded = product(1L, 10.0);
+        Optional<ProductModel> first = productCache.get(1L, id -> Optional.of(loaded));
+
+        loaded.setPrice(20.0);
+        first.orElseThrow().setPrice(30.0);
+        Optional<ProductModel> second = productCache.get(1L, id -> Optional.empty());
+
+        assertThat(second).hasValueSatisfying(product -> assertThat(product.getPrice()).isEqualTo(10.0));
+        assertThat(second.get()).isNotSameAs(first.get()).isNotSameAs(loaded);
+        assertThat(productCache.getAll(List.of(1L), ids -> Map.of()).get(1L))
+                .hasValueSatisfying(product -> assertThat(product.getPrice()).isEqualTo(10.0));
+    }
+
+    @Test
+    void bulkLoadCachesMissesWithOneCallAndKeepsTheRequestedOrder() {
+        AtomicInteger loads = new AtomicInteger();
+        productCache.get(2L, id -> Optional.of(product(2L, 20.0)));
+        Function<Set<? extends Long>, Map<Long, ProductModel>> loader = ids -> {
+            loads.incrementAndGet();
+            assertThat(List.<Long>copyOf(ids)).containsExactly(3L, 1L, 4L);
+            return Map.of(1L, product(1L, 10.0), 3L, product(3L, 30.0));
+        };
+
+        Map<Long, Optional<ProductModel>> products = productCache.getAll(List.of(3L, 2L, 1L, 4L), loader);
+
+        assertThat(products).containsOnlyKeys(3L, 2L, 1L, 4L);
+        assertThat(products.keySet()).containsExactly(3L, 2L, 1L, 4L);
+        assertThat(products.get(4L)).isEmpty();
+        assertThat(products.get(2L)).hasValueSatisfying(product -> assertThat(product.getPrice()).isEqualTo(20.0));
+        assertThat(productCache.getAll(List.of(1L, 2L, 3L, 4L), ids -> Map.of())).allSatisfy((id, product) ->
+                assertThat(product.isPresent()).isEqualTo(id != 4L));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void bulkLoadOverlappingAnInvalidationIsNotCached() {
+        ProductModel stale = product(1L, 10.0);
+        Map<Long, Optional<ProductModel>> first = productCache.getAll(List.of(1L), ids -> {
+            // A change commits after the rows were read and invalidates before they are stored
+            productCache.onProductChange(new ProductChangeEvent(ProductChangeEvent.ChangeType.UPDATED, 1L, null));
+            return Map.of(1L, stale);
+        });
+
+        assertThat(first.get(1L)).hasValueSatisfying(product -> assertThat(product.getPrice()).isEqualTo(10.0));
+        assertThat(productCache.get(1L, id -> Optional.of(product(1L, 11.0))))
+                .hasValueSatisfying(product -> assertThat(product.getPrice()).isEqualTo(11.0));
+    }
+
+    @Test
+    void rangeDeletionInvalidatesTheProductsPricedWithinTheRange() {
+        productCache.get(1L, id -> Optional.of(product(1L, 10.0)));
+        productCache.get(2L, id -> Optional.of(product(2L, 20.0)));
+        productCache.get(3L, id -> Optional.of(product(3L, 30.0)));
+
+        productCache.onProductChange(new ProductChangeEvent(ProductChangeEvent.ChangeType.RANGE_DELETED, null, null,
+                new ProductChangeEvent.RangeDeletion(15.0, null)));
+
+        assertThat(productCache.cachedVersion(1L)).isPresent();
+        assertThat(productCache.cachedVersion(2L)).isEmpty();
+        assertThat(productCache.cachedVersion(3L)).isEmpty();
+    }
+
+    @Test
+    void loadOverlappingARangeDeletionIsNotCached() {
+        Optional<ProductModel> loaded = productCache.get(1L, id -> {
+            // The range delete commits after the row was read, before the entry is stored
+            productCache.onProductChange(new ProductChangeEvent(ProductChangeEvent.ChangeType.RANGE_DELETED, null, null,
+                    new ProductChangeEvent.RangeDeletion(5.0, 15.0)));
+            return Optional.of(product(1L, 10.0));
+        });
+
+        assertThat(loaded).isPresent();
+        assertThat(productCache.cachedVersion(1L)).isEmpty();
+    }
+
+    @Test
+    void missingProductIsCachedUntilTheNegativeTtlExpires() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<ProductModel>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        assertThat(productCache.get(1L, loader)).isEmpty();
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(productCache.get(1L, loader)).isEmpty();
+        assertThat(loads).hasValue(1);
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertThat(productCache.get(1L, loader)).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void presentProductOutlivesTheNegativeTtl() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Optional<ProductModel>> loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(product(id, 10.0));
+        };
+
+        productCache.get(1L, loader);
+        nanos.addAndGet(Duration.ofMinutes(1).toNanos());
+        productCache.get(1L, loader);
+        assertThat(loads).hasValue(1);
+
+        nanos.addAndGet(Duration.ofMinutes(5).toNanos());
+        productCache.get(1L, loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void concurrentMissesOfTheSameIdLoadItOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<ProductModel>> loader = id -> {
+            loads.incrementAndGet();
+            await(release);
+            return Optional.of(product(id, 10.0));
+        };
+
+        List<Optional<ProductModel>> results = getConcurrently(1L, loader, release);
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(product -> assertThat(product).isPresent());
+    }
+
+    @Test
+    void concurrentMissesOfAMissingIdLoadItOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, Optional<ProductModel>> loader = id -> {
+            loads.incrementAndGet();
+            await(release);
+            return Optional.empty();
+        };
+
+        List<Optional<ProductModel>> results = getConcurrently(2L, loader, release);
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS).allSatisfy(product -> assertThat(product).isEmpty());
+    }
+
+    /**
+     * Starts every caller, gives them time to block on the load in progress, then lets the load finish.
+     * A caller that arrives after the load finds the entry cached, so the number of loads does not
+     * depend on the timing.
+     */
+    private List<Optional<ProductModel>> getConcurrently(Long id, Function<Long, Optional<ProductModel>> loader,
+                                                        CountDownLatch release) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            CountDownLatch started = new CountDownLatch(CALLERS);
+            List<Future<Optional<ProductModel>>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    started.countDown();
+                    return productCache.get(id, loader);
+                }));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(100);
+            release.countDown();
+
+            List<Optional<ProductModel>> results = new ArrayList<>();
+            for (Future<Optional<ProductModel>> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static ProductModel product(Long id, double price) {
+        return new ProductModel(id, "name", "description", price, null, null, 0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
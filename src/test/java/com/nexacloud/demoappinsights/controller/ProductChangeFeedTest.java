@@ -0,0 +1,140 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the order, paging and tombstones of the change feed ({@code GET /api/products/changes}).
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductChangeFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void eachProductAppearsOnceAtItsLatestChange() throws Exception {
+        String token = latestChangeToken();
+        long first = createProduct(10.0);
+        long second = createProduct(20.0);
+        mockMvc.perform(put("/api/products/{id}", first)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product(15.0)))
+                .andExpect(status().isAccepted());
+
+        String page = changes(token, null);
+
+        assertThat(ids(page)).containsExactly(second, first);
+        assertThat(JsonPath.<List<String>>read(page, "$.data.changes[*].type")).containsExactly("CREATED", "UPDATED");
+        assertThat(JsonPath.<Double>read(page, "$.data.changes[1].product.price")).isEqualTo(15.0);
+        List<Number> sequences = JsonPath.read(page, "$.data.changes[*].sequence");
+        assertThat(sequences.get(0).longValue()).isLessThan(sequences.get(1).longValue());
+        assertThat(JsonPath.<Boolean>read(page, "$.data.hasMore")).isFalse();
+    }
+
+    @Test
+    void tokenContinuesAfterTheLastChangeOfThePage() throws Exception {
+        String token = latestChangeToken();
+        long first = createProduct(10.0);
+        long second = createProduct(20.0);
+        long third = createProduct(30.0);
+
+        String firstPage = changes(token, 2);
+        assertThat(ids(firstPage)).containsExactly(first, second);
+        assertThat(JsonPath.<Boolean>read(firstPage, "$.data.hasMore")).isTrue();
+
+        String secondPage = changes(JsonPath.read(firstPage, "$.data.nextToken"), 2);
+        assertThat(ids(secondPage)).containsExactly(third);
+        assertThat(JsonPath.<Boolean>read(secondPage, "$.data.hasMore")).isFalse();
+
+        String lastToken = JsonPath.read(secondPage, "$.data.nextToken");
+        String emptyPage = changes(lastToken, 2);
+        assertThat(ids(emptyPage)).isEmpty();
+        assertThat(JsonPath.<String>read(emptyPage, "$.data.nextToken")).isEqualTo(lastToken);
+    }
+
+    @Test
+    void productDeletedAfterItsChangeIsReturnedAsATombstone() throws Exception {
+        String token = latestChangeToken();
+        long deleted = createProduct(10.0);
+        long kept = createProduct(20.0);
+        mockMvc.perform(delete("/api/products/{id}", deleted))
+                .andExpect(status().isAccepted());
+
+        // The creation is on this page, the deletion on a later one
+        String firstPage = changes(token, 1);
+        assertThat(ids(firstPage)).containsExactly(deleted);
+        assertThat(JsonPath.<String>read(firstPage, "$.data.changes[0].type")).isEqualTo("DELETED");
+        assertThat(JsonPath.<Object>read(firstPage, "$.data.changes[0].product")).isNull();
+
+        String rest = changes(JsonPath.read(firstPage, "$.data.nextToken"), 10);
+        assertThat(ids(rest)).containsExactly(kept, deleted);
+        assertThat(JsonPath.<List<String>>read(rest, "$.data.changes[*].type")).containsExactly("CREATED", "DELETED");
+
+        // Read in one page, the creation and deletion collapse into the tombstone
+        String whole = changes(token, 10);
+        assertThat(ids(whole)).containsExactly(kept, deleted);
+        assertThat(JsonPath.<List<String>>read(whole, "$.data.changes[*].type")).containsExactly("CREATED", "DELETED");
+    }
+
+    private String changes(String since, Integer limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/products/changes").param("since", since);
+        if (limit != null) {
+            request.param("limit", limit.toString());
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<Long> ids(String page) {
+        List<Number> ids = JsonPath.read(page, "$.data.changes[*].productId");
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    private String latestChangeToken() throws Exception {
+        String token = null;
+        boolean hasMore = true;
+        while (hasMore) {
+            MockHttpServletRequestBuilder request = get("/api/products/changes");
+            if (token != null) {
+                request.param("since", token);
+            }
+            String body = mockMvc.perform(request).andReturn().getResponse().getContentAsString();
+            token = JsonPath.read(body, "$.data.nextToken");
+            hasMore = JsonPath.read(body, "$.data.hasMore");
+        }
+        return token;
+    }
+
+    private long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product(price)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private static String product(double price) {
+        return "{\"name\":\"Feed\",\"description\":\"Description\",\"price\":" + price + "}";
+    }
+}
@@ -0,0 +1,238 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.nexacloud.demoappinsights.event.ProductChangeStream;
+import com.nexacloud.demoappinsights.util.CursorUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the Server-Sent Events stream of product changes: delivery order, the resync event for a
+ * subscriber too far behind, disconnecting a subscriber whose buffer is full, and removing
+ * subscriptions that time out or complete.
+ *
+ * <p>
+ * Runs against its own in-memory database with a buffer of three events and no heartbeat. Async
+ * lifecycle events are fired through the {@link MockAsyncContext} of each subscription.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:streamtest",
+        "product.changes.stream.buffer-size=3",
+        "product.changes.stream.sender-threads=1",
+        "product.changes.stream.heartbeat=0s"})
+@AutoConfigureMockMvc
+class ProductChangeStreamTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductChangeStream productChangeStream;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<MvcResult> subscriptions = new ArrayList<>();
+
+    @AfterEach
+    void closeSubscriptions() throws Exception {
+        for (MvcResult subscription : subscriptions) {
+            fire(subscription, AsyncListener::onComplete);
+        }
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriberCount() == 0);
+    }
+
+    @Test
+    void changesAreDeliveredInCommitOrder() throws Exception {
+        MvcResult subscription = subscribe(null);
+
+        // Waits for each event to be sent, so the three-event buffer never fills up
+        List<String> names = List.of("First", "Second", "Third");
+        for (int i = 0; i < names.size(); i++) {
+            createProduct(names.get(i));
+            int sent = i + 1;
+            await().atMost(Duration.ofSeconds(5)).until(() -> eventIds(subscription).size() == sent);
+        }
+        List<Long> ids = eventIds(subscription);
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        String body = subscription.getResponse().getContentAsString();
+        assertThat(body.indexOf("\"First\"")).isLessThan(body.indexOf("\"Second\""));
+        assertThat(body.indexOf("\"Second\"")).isLessThan(body.indexOf("\"Third\""));
+        assertThat(body).contains("event:CREATED");
+    }
+
+    @Test
+    void subscriberTooFarBehindGetsAResyncEventAndIsDisconnected() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            createProduct("Missed " + i);
+        }
+
+        MvcResult subscription = subscribe(0L);
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> subscription.getResponse().getContentAsString().contains("event:resync"));
+        assertThat(subscription.getResponse().getContentAsString())
+                .contains("\"since\":\"" + CursorUtil.encodeChangeToken(0L) + "\"")
+                .doesNotContain("event:CREATED");
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriberCount() == 0);
+    }
+
+    @Test
+    void subscriberWhoseBufferIsFullIsDisconnected() throws Exception {
+        Object senders = ReflectionTestUtils.getField(productChangeStream, "senders");
+        StalledExecutor stalled = new StalledExecutor();
+        ReflectionTestUtils.setField(productChangeStream, "senders", stalled);
+        double disconnectsBefore = slowDisconnects();
+        try {
+            subscribe(null);
+            for (int i = 0; i < 4; i++) {
+                createProduct("Unread " + i);
+            }
+
+            assertThat(subscriberCount()).isZero();
+            assertThat(slowDisconnects()).isEqualTo(disconnectsBefore + 1);
+        } finally {
+            ReflectionTestUtils.setField(productChangeStream, "senders", senders);
+            stalled.held.forEach(Runnable::run);
+        }
+    }
+
+    @Test
+    void timedOutSubscriptionIsRemoved() throws Exception {
+        MvcResult subscription = subscribe(null);
+        assertThat(subscriberCount()).isEqualTo(1.0);
+
+        fire(subscription, AsyncListener::onTimeout);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscriberCount() == 0);
+        createProduct("After timeout");
+        assertThat(eventIds(subscription)).isEmpty();
+    }
+
+    @Test
+    void completedSubscriptionIsRemoved() throws Exception {
+        MvcResult subscription = subscribe(null);
+        assertThat(subscriberCount()).isEqualTo(1.0);
+
+        fire(subscription, AsyncListener::onComplete);
+
+        assertThat(subscriberCount()).isZero();
+    }
+
+    /**
+     * Queues tasks instead of running them, like sender threads stuck writing to a slow client.
+     */
+    private static final class StalledExecutor extends AbstractExecutorService {
+
+        private final Queue<Runnable> held = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void execute(Runnable command) {
+            held.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+
+    private MvcResult subscribe(Long lastEventId) throws Exception {
+        MockHttpServletRequestBuilder subscribe = get("/api/products/changes/stream").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            subscribe.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        MvcResult subscription = mockMvc.perform(subscribe)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private void createProduct(String name) throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Description\",\"price\":10.0}"))
+                .andExpect(status().isCreated());
+    }
+
+    private static List<Long> eventIds(MvcResult subscription) throws Exception {
+        Matcher matcher = EVENT_ID.matcher(subscription.getResponse().getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private interface AsyncCallback {
+        void fire(AsyncListener listener, AsyncEvent event) throws Exception;
+    }
+
+    private static void fire(MvcResult subscription, AsyncCallback callback) throws Exception {
+        MockAsyncContext asyncContext = (MockAsyncContext) subscription.getRequest().getAsyncContext();
+        for (AsyncListener listener : new ArrayList<>(asyncContext.getListeners())) {
+            callback.fire(listener, new AsyncEvent(asyncContext));
+        }
+    }
+
+    private double subscriberCount() {
+        return meterRegistry.get("product.changes.stream.subscribers").gauge().value();
+    }
+
+    private double slowDisconnects() {
+        return meterRegistry.get("product.changes.stream.slow.disconnects").functionCounter().count();
+    }
+}
@@ -0,0 +1,130 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests conditional requests on single products: ETag and If-None-Match on GET, If-Match on PUT.
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getWithCurrentETagIsNotModified() throws Exception {
+        long id = createProduct();
+
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag(id, 0)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag(id, 7)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(id, 0)));
+    }
+
+    @Test
+    void getWithCurrentETagOfCachedProductDoesNotReadTheProduct() throws Exception {
+        long id = createProduct();
+        mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk());
+        // Removed behind the application's back: only a database read would notice
+        jdbcTemplate.update("delete from products where id = ?", id);
+
+        mockMvc.perform(get("/api/products/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag(id, 0)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(id, 0)));
+    }
+
+    @Test
+    void putWithCurrentETagReturnsTheWholeUpdatedProduct() throws Exception {
+        long id = createProduct();
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, eTag(id, 0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Updated", 25.0)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag(id, 1)))
+                .andExpect(jsonPath("$.data.name").value("Updated"))
+                .andExpect(jsonPath("$.data.price").value(25.0))
+                .andExpect(jsonPath("$.data.version").value(1))
+                .andExpect(jsonPath("$.data.createdAt").isNotEmpty())
+                .andExpect(jsonPath("$.data.updatedAt").isNotEmpty());
+    }
+
+    @Test
+    void putWithStaleETagIsRejected() throws Exception {
+        long id = createProduct();
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Other writer", 30.0)))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, eTag(id, 0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Lost update", 40.0)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(jsonPath("$.data.name").value("Other writer"))
+                .andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    void putWithETagOfAnotherProductIsRejected() throws Exception {
+        long id = createProduct();
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, eTag(id + 1, 0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Wrong tag", 40.0)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void conditionalPutOfMissingProductIsNotFound() throws Exception {
+        mockMvc.perform(put("/api/products/{id}", 987_654_321L)
+                        .header(HttpHeaders.IF_MATCH, eTag(987_654_321L, 0))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Missing", 10.0)))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createProduct() throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(product("Conditional", 10.0)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private static String product(String name, double price) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Description\",\"price\":" + price + "}";
+    }
+
+    private static String eTag(long id, long version) {
+        return "\"" + id + "-v" + version + "\"";
+    }
+}
@@ -0,0 +1,133 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests single product deletes, deletes by ID and price range deletes, including the change recorded for a range delete.
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductDeleteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deletedProductIsGoneAndCannotBeDeletedAgain() throws Exception {
+        long id = createProduct(10.0);
+
+        mockMvc.perform(delete("/api/products/{id}", id))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/products/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rangeDeleteRemovesTheProductsWithinTheRangeAsOneChange() throws Exception {
+        long cheap = createProduct(7001.0);
+        long cached = createProduct(7003.0);
+        long expensive = createProduct(7003.5);
+        mockMvc.perform(get("/api/products/{id}", cached))
+                .andExpect(status().isOk());
+        String token = latestChangeToken();
+
+        mockMvc.perform(delete("/api/products").param("minPrice", "7001").param("maxPrice", "7003"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.deletedCount").value(2));
+
+        mockMvc.perform(get("/api/products/{id}", cheap))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/products/{id}", cached))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/products/{id}", expensive))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/changes").param("since", token))
+                .andExpect(jsonPath("$.data.changes.length()").value(1))
+                .andExpect(jsonPath("$.data.changes[0].type").value("RANGE_DELETED"))
+                .andExpect(jsonPath("$.data.changes[0].productId").doesNotExist())
+                .andExpect(jsonPath("$.data.changes[0].minPrice").value(7001.0))
+                .andExpect(jsonPath("$.data.changes[0].maxPrice").value(7003.0));
+    }
+
+    @Test
+    void emptyRangeDeleteRecordsNoChange() throws Exception {
+        String token = latestChangeToken();
+
+        mockMvc.perform(delete("/api/products").param("minPrice", "7200").param("maxPrice", "7201"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.deletedCount").value(0));
+        mockMvc.perform(get("/api/products/changes").param("since", token))
+                .andExpect(jsonPath("$.data.changes.length()").value(0));
+    }
+
+    @Test
+    void rangeDeleteWithAnOpenBoundRemovesEveryProductBeyondIt() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(createProduct(90_000.0 + i));
+        }
+
+        mockMvc.perform(delete("/api/products").param("minPrice", "90000"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.deletedCount").value(5));
+
+        for (Long id : ids) {
+            mockMvc.perform(get("/api/products/{id}", id))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void deleteByIdsCountsTheProductsThatExisted() throws Exception {
+        long existing = createProduct(11.0);
+
+        mockMvc.perform(delete("/api/products").param("ids", existing + "," + 987_654_321L))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.deletedCount").value(1));
+        mockMvc.perform(get("/api/products/{id}", existing))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Delete\",\"description\":\"Description\",\"price\":" + price + "}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private String latestChangeToken() throws Exception {
+        String token = null;
+        boolean hasMore = true;
+        while (hasMore) {
+            var request = get("/api/products/changes");
+            if (token != null) {
+                request.param("since", token);
+            }
+            String body = mockMvc.perform(request).andReturn().getResponse().getContentAsString();
+            token = JsonPath.read(body, "$.data.nextToken");
+            hasMore = JsonPath.read(body, "$.data.hasMore");
+        }
+        return token;
+    }
+}
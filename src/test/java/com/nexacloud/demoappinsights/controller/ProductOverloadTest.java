@@ -0,0 +1,57 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.nexacloud.demoappinsights.util.concurrency.AdaptiveConcurrencyLimiter;
+import com.nexacloud.demoappinsights.util.concurrency.ConcurrencyLimitAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that a request turned away by the read concurrency limiter gets a 503 with Retry-After,
+ * occupying the limiter's slots directly instead of sending concurrent requests.
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductOverloadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimitAspect concurrencyLimitAspect;
+
+    @Test
+    void requestOverTheLimitIsRejectedWithRetryAfter() throws Exception {
+        AdaptiveConcurrencyLimiter reads =
+                (AdaptiveConcurrencyLimiter) ReflectionTestUtils.getField(concurrencyLimitAspect, "reads");
+        int occupied = 0;
+        try {
+            while (reads.tryAcquire()) {
+                occupied++;
+            }
+
+            mockMvc.perform(get("/api/products/{id}", 1L))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("$.message").value("ServiceOverloadedException: Too many concurrent reads, retry in 1 s"));
+        } finally {
+            for (int i = 0; i < occupied; i++) {
+                reads.onIgnored();
+            }
+        }
+
+        mockMvc.perform(get("/api/products/{id}", 987_654_321L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,139 @@
+package com.nexacloud.demoappinsights.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests JSON merge patches, checking the SQL they issue through a Hibernate statement inspector.
+ *
+ * <p>
+ * Runs against its own in-memory database, so the recorded statements only come from this class.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:patchtest",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.nexacloud.demoappinsights.controller.ProductPatchTest$RecordingStatementInspector"})
+@AutoConfigureMockMvc
+class ProductPatchTest {
+
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+
+    @Test
+    void patchOfOneFieldUpdatesOnlyThatColumnAndBumpsTheVersion() throws Exception {
+        long id = createProduct();
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        patchProduct(id, "{\"price\":12.5}")
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-v1\""))
+                .andExpect(jsonPath("$.data.name").value("Patched"))
+                .andExpect(jsonPath("$.data.price").value(12.5))
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        List<String> updates = statements("update products ");
+        assertThat(updates).hasSize(1);
+        assertThat(updates.get(0))
+                .contains("price=?", "version=?", "updated_at=?")
+                .doesNotContain("name=?", "description=?", "created_at=?");
+    }
+
+    @Test
+    void repeatingAPatchDoesNotWriteAgain() throws Exception {
+        long id = createProduct();
+        patchProduct(id, "{\"price\":12.5}")
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        RecordingStatementInspector.STATEMENTS.clear();
+        patchProduct(id, "{\"price\":12.5}")
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        assertThat(statements("update ")).isEmpty();
+        assertThat(statements("insert ")).isEmpty();
+
+        // The product is cached now, so the same patch is answered without any SQL
+        RecordingStatementInspector.STATEMENTS.clear();
+        patchProduct(id, "{\"price\":12.5,\"name\":\"Patched\"}")
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        assertThat(RecordingStatementInspector.STATEMENTS).isEmpty();
+    }
+
+    @Test
+    void patchWithStaleETagIsRejectedEvenIfItChangesNothing() throws Exception {
+        long id = createProduct();
+        patchProduct(id, "{\"price\":12.5}")
+                .andExpect(jsonPath("$.data.version").value(1));
+
+        mockMvc.perform(patch("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"" + id + "-v0\"")
+                        .contentType(MERGE_PATCH)
+                        .content("{\"price\":12.5}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchOfMissingProductIsNotFound() throws Exception {
+        patchProduct(987_654_321L, "{}")
+                .andExpect(status().isNotFound());
+    }
+
+    private long createProduct() throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Patched\",\"description\":\"Description\",\"price\":10.0}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return ((Number) JsonPath.read(body, "$.data.id")).longValue();
+    }
+
+    private ResultActions patchProduct(long id, String patch) throws Exception {
+        return mockMvc.perform(patch("/api/products/{id}", id).contentType(MERGE_PATCH).content(patch));
+    }
+
+    private static List<String> statements(String prefix) {
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith(prefix))
+                .toList();
+    }
+}
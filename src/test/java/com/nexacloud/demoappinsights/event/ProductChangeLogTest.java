@@ -0,0 +1,72 @@
+package com.nexacloud.demoappinsights.event;
+
+import com.nexacloud.demoappinsights.repository.ProductChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests how the watermark of {@link ProductChangeLog} passes gaps in the change sequence: at once
+ * for a change of this instance that rolled back, after the gap timeout for any other gap.
+ *
+ * <p>
+ * Runs against its own in-memory database with a gap timeout of one second. A sequence value
+ * taken straight from the database stands in for a change of another instance.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changelogtest",
+        "product.changes.gap-timeout=1s"})
+class ProductChangeLogTest {
+
+    @Autowired
+    private ProductChangeLog productChangeLog;
+
+    @Autowired
+    private ProductChangePublisher productChangePublisher;
+
+    @Autowired
+    private ProductChangeRepository productChangeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changeRolledBackOnThisInstanceDoesNotHoldBackTheWatermark() {
+        transactionTemplate.executeWithoutResult(status -> {
+            productChangePublisher.deleted(1L);
+            status.setRollbackOnly();
+        });
+        long committed = commitChange();
+
+        assertThat(productChangeLog.visibleSequence()).isEqualTo(committed);
+    }
+
+    @Test
+    void otherGapHoldsBackTheWatermarkUntilTheTimeout() {
+        long before = productChangeLog.visibleSequence();
+        jdbcTemplate.queryForObject("select next value for product_changes_seq", Long.class);
+        long committed = commitChange();
+
+        assertThat(productChangeLog.visibleSequence()).isEqualTo(before);
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> productChangeLog.visibleSequence() == committed);
+    }
+
+    private long commitChange() {
+        transactionTemplate.executeWithoutResult(status -> productChangePublisher.deleted(2L));
+        return productChangeRepository.findMaxSequence();
+    }
+}
@@ -0,0 +1,98 @@
+package com.nexacloud.demoappinsights.repository;
+
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that price queries are answered from the (price, id) index, using H2's EXPLAIN output.
+ *
+ * <p>
+ * "index sorted" in the plan means H2 reads the rows in index order and stops after the limit,
+ * instead of sorting the whole filtered table.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+@DataJpaTest
+class ProductPriceIndexTest {
+
+    private static final String PRICE_INDEX = "IDX_PRODUCTS_PRICE_ID";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        // ANALYZE commits, so the rows outlive the rolled-back test transaction and are seeded once
+        if (productRepository.count() > 0) {
+            return;
+        }
+        productRepository.saveAll(IntStream.rangeClosed(1, 1_000)
+                .mapToObj(i -> new ProductModel(null, "Product " + i, "Description " + i, (double) (i % 250), null, null, null))
+                .toList());
+        productRepository.flush();
+        // Refresh the selectivity statistics the H2 optimizer uses to pick an index
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    void cheapestProductsAreReadFromThePriceIndex() {
+        String plan = explain("select * from products where price between ?1 and ?2 order by price asc, id asc "
+                + "fetch first ?3 rows only", 10.0, 100.0, 10);
+
+        assertThat(plan).contains(PRICE_INDEX).contains("index sorted");
+    }
+
+    @Test
+    void mostExpensiveProductsAreReadFromThePriceIndex() {
+        String plan = explain("select * from products where price between ?1 and ?2 order by price desc, id desc "
+                + "fetch first ?3 rows only", -Double.MAX_VALUE, Double.MAX_VALUE, 10);
+
+        assertThat(plan).contains(PRICE_INDEX).contains("index sorted");
+    }
+
+    @Test
+    void minPriceFilterUsesThePriceIndex() {
+        String plan = explain("select * from products where price >= ?1", 240.0);
+
+        assertThat(plan).contains(PRICE_INDEX);
+    }
+
+    @Test
+    void topQueriesReturnProductsInPriceOrder() {
+        Comparator<ProductModel> byPriceThenId = Comparator.comparing(ProductModel::getPrice)
+                .thenComparing(ProductModel::getId);
+
+        List<ProductModel> cheapest = productRepository.findByPriceBetweenOrderByPriceAscIdAsc(10.5, 100.0, Limit.of(5));
+        List<ProductModel> mostExpensive = productRepository.findByPriceBetweenOrderByPriceDescIdDesc(
+                -Double.MAX_VALUE, Double.MAX_VALUE, Limit.of(5));
+
+        assertThat(cheapest).hasSize(5).isSortedAccordingTo(byPriceThenId);
+        assertThat(cheapest.get(0).getPrice()).isEqualTo(11.0);
+        assertThat(mostExpensive).hasSize(5).isSortedAccordingTo(byPriceThenId.reversed());
+        assertThat(mostExpensive.get(0).getPrice()).isEqualTo(249.0);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        Query query = entityManager.createNativeQuery("explain " + sql);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        return query.getSingleResult().toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.nexacloud.demoappinsights.service.implementation.product;
+
+import com.nexacloud.demoappinsights.dto.request.ProductReq;
+import com.nexacloud.demoappinsights.entity.ProductModel;
+import com.nexacloud.demoappinsights.event.ProductChangeEvent;
+import com.nexacloud.demoappinsights.event.ProductChangePublisher;
+import com.nexacloud.demoappinsights.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the coalescing, retry and ordering rules of {@link ProductUpdateQueue}, calling the flush
+ * and the transactional event listeners directly instead of going through Spring.
+ *
+ * @author Priyonuj Dey
+ */
+class ProductUpdateQueueTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final Map<Long, ProductModel> table = new TreeMap<>();
+    private ProductRepository productRepository;
+    private ProductChangePublisher productChangePublisher;
+    private DirectTransactionTemplate transactionTemplate;
+    private ProductUpdateQueue queue;
+
+    /**
+     * Runs callbacks on the calling thread. A failure set by the test is thrown after the callback,
+     * like a version conflict detected when the transaction flushes at commit.
+     */
+    private static class DirectTransactionTemplate extends TransactionTemplate {
+
+        private int failures;
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            TransactionStatus status = new SimpleTransactionStatus();
+            T result = action.doInTransaction(status);
+            if (failures > 0) {
+                failures--;
+                throw new ObjectOptimisticLockingFailureException(ProductModel.class, 1L);
+            }
+            return result;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        table.put(1L, new ProductModel(1L, "one", "first", 10.0, null, null, 0L));
+        table.put(2L, new ProductModel(2L, "two", "second", 20.0, null, null, 0L));
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .map(table::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        });
+        productChangePublisher = mock(ProductChangePublisher.class);
+        transactionTemplate = new DirectTransactionTemplate();
+        queue = new ProductUpdateQueue(productRepository, productChangePublisher, transactionTemplate, true,
+                Duration.ofHours(1), 1_000, 1_000, MAX_ATTEMPTS, 50, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void onlyTheLatestUpdateOfAProductIsWritten() {
+        queue.enqueue(1L, price(11));
+        queue.enqueue(1L, price(12));
+        queue.enqueue(1L, price(13));
+        queue.enqueue(2L, price(21));
+
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(13.0);
+        assertThat(table.get(2L).getPrice()).isEqualTo(21.0);
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productChangePublisher, times(2)).updated(any());
+
+        queue.flush();
+
+        verify(productRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void updatesOfMissingProductsAreDropped() {
+        queue.enqueue(99L, price(1));
+
+        queue.flush();
+        queue.flush();
+
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productChangePublisher, never()).updated(any());
+    }
+
+    @Test
+    void failedChunkIsRetriedOnTheNextFlush() {
+        transactionTemplate.failures = 1;
+        queue.enqueue(1L, price(11));
+
+        queue.flush();
+        table.get(1L).setPrice(10.0);
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(11.0);
+        verify(productRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    void failedUpdateIsDroppedAfterTheMaximumNumberOfAttempts() {
+        transactionTemplate.failures = Integer.MAX_VALUE;
+        queue.enqueue(1L, price(11));
+
+        for (int i = 0; i < MAX_ATTEMPTS + 2; i++) {
+            queue.flush();
+        }
+
+        verify(productRepository, times(MAX_ATTEMPTS)).findAllById(anyIterable());
+    }
+
+    @Test
+    void newerUpdateQueuedDuringAFailedFlushIsNotReplacedByTheRetry() {
+        transactionTemplate.failures = 1;
+        queue.enqueue(1L, price(11));
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            queue.enqueue(1L, price(12));
+            return List.of(table.get(1L));
+        }).thenAnswer(invocation -> List.of(table.get(1L)));
+
+        queue.flush();
+        table.get(1L).setPrice(10.0);
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(12.0);
+    }
+
+    @Test
+    void synchronousWriteDiscardsTheUpdateQueuedBeforeIt() {
+        queue.enqueue(1L, price(11));
+        queue.onProductChangeCommitted(updated(1L));
+
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(10.0);
+        verify(productChangePublisher, never()).updated(any());
+    }
+
+    @Test
+    void updateQueuedAfterASynchronousWriteIsWritten() {
+        queue.onProductChangeCommitted(updated(1L));
+        queue.enqueue(1L, price(11));
+
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(11.0);
+    }
+
+    @Test
+    void synchronousWriteCommittedWhileTheFlushHoldsTheUpdateWins() {
+        // The flush has taken the update, a synchronous write commits, and the flush then loses the version check
+        transactionTemplate.failures = 1;
+        queue.enqueue(1L, price(11));
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            queue.onProductChangeCommitted(updated(1L));
+            return List.of(table.get(1L));
+        });
+
+        queue.flush();
+        table.get(1L).setPrice(50.0);
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(50.0);
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productChangePublisher, never()).updated(any());
+    }
+
+    @Test
+    void queuedUpdateWaitsForASynchronousWriteInProgressAndSurvivesItsRollback() {
+        queue.enqueue(1L, price(11));
+        inTransaction(() -> queue.onProductChange(updated(1L)));
+
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(10.0);
+
+        queue.onProductChangeRolledBack(updated(1L));
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(11.0);
+    }
+
+    @Test
+    void queuedUpdateWaitingForASynchronousWriteIsDiscardedWhenItCommits() {
+        queue.enqueue(1L, price(11));
+        inTransaction(() -> queue.onProductChange(updated(1L)));
+
+        queue.flush();
+        queue.onProductChangeCommitted(updated(1L));
+        queue.flush();
+
+        assertThat(table.get(1L).getPrice()).isEqualTo(10.0);
+        verify(productChangePublisher, never()).updated(any());
+    }
+
+    private static ProductReq price(double price) {
+        return new ProductReq("name", "description", price);
+    }
+
+    private static ProductChangeEvent updated(Long id) {
+        return new ProductChangeEvent(ProductChangeEvent.ChangeType.UPDATED, id, null);
+    }
+
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            action.run();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.nexacloud.demoappinsights.util;
+
+import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
+import com.nexacloud.demoappinsights.util.telemetry.ExceptionDeduplicator;
+import com.nexacloud.demoappinsights.util.telemetry.LatencyAggregator;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryEvent;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetryPipeline;
+import com.nexacloud.demoappinsights.util.telemetry.TelemetrySampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests that {@link TelemetryUtil#trackException} reports an exception instance once per request,
+ * and that events without a duration bypass the latency statistics.
+ *
+ * @author Priyonuj Dey
+ */
+class TelemetryUtilTest {
+
+    private final TelemetryPipeline telemetryPipeline = mock(TelemetryPipeline.class);
+    private final ExceptionDeduplicator exceptionDeduplicator = new ExceptionDeduplicator(telemetryPipeline, 60_000);
+    private final TelemetrySampler telemetrySampler = mock(TelemetrySampler.class);
+    private final LatencyAggregator latencyAggregator = mock(LatencyAggregator.class);
+    private final TelemetryUtil telemetryUtil = new TelemetryUtil(telemetryPipeline, telemetrySampler,
+            latencyAggregator, exceptionDeduplicator);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void sameExceptionTrackedTwiceInOneRequestIsSentOnce() {
+        startRequest();
+        ResourceNotFoundException exception = new ResourceNotFoundException("Product", "42");
+
+        telemetryUtil.trackException(exception, Map.of("operation", "GetProduct"));
+        telemetryUtil.trackException(exception, Map.of("endpoint", "GET /api/products/{id}"));
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline, times(1)).publish(events.capture());
+        assertThat(events.getValue().exception()).isSameAs(exception);
+        assertThat(events.getValue().properties()).containsEntry("operation", "GetProduct");
+
+        exceptionDeduplicator.stop();
+
+        verify(telemetryPipeline, times(1)).publish(events.capture());
+    }
+
+    @Test
+    void sameFailureInAnotherRequestIsCountedByTheDeduplicator() {
+        startRequest();
+        telemetryUtil.trackException(new ResourceNotFoundException("Product", "42"), Map.of("operation", "GetProduct"));
+        startRequest();
+        telemetryUtil.trackException(new ResourceNotFoundException("Product", "43"), Map.of("operation", "GetProduct"));
+
+        verify(telemetryPipeline, times(1)).publish(any());
+
+        exceptionDeduplicator.stop();
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline, times(2)).publish(events.capture());
+        assertThat(events.getAllValues().get(1).samplingWeight()).isEqualTo(1.0);
+        assertThat(events.getAllValues().get(1).properties()).containsEntry("duplicateCount", "1");
+    }
+
+    @Test
+    void eventWithoutDurationIsNeitherTimedNorSampled() {
+        telemetryUtil.trackEvent("ConcurrentModificationDetected", Map.of("entityId", "42"));
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline).publish(events.capture());
+        assertThat(events.getValue().name()).isEqualTo("ConcurrentModificationDetected");
+        assertThat(events.getValue().hasProcessingTime()).isFalse();
+        verifyNoInteractions(latencyAggregator, telemetrySampler);
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.nexacloud.demoappinsights.util.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests how {@link AdaptiveConcurrencyLimiter} admits calls and moves its limit, feeding it
+ * synthetic latencies instead of timing real calls.
+ *
+ * @author Priyonuj Dey
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(40);
+
+    @Test
+    void callsOverTheLimitAreRejectedWithoutWaiting() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 3, 1, 10);
+
+        assertThat(acquireAll(limiter)).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        limiter.onIgnored();
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsStableAndStopsAtTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 40);
+
+        fullRounds(limiter, FAST, 3);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+
+        fullRounds(limiter, FAST, 50);
+
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostOfItIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 40);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 40);
+        fullRounds(limiter, FAST, 50);
+        assertThat(limiter.getLimit()).isEqualTo(40);
+
+        fullRounds(limiter, SLOW, 3);
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+
+        fullRounds(limiter, SLOW, 20);
+
+        assertThat(limiter.getLimit()).isBetween(2, 10);
+    }
+
+    @Test
+    void droppedCallsCutTheLimitDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 5, 40);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+
+        assertThat(limiter.getLimit()).isEqualTo(18);
+        assertThat(limiter.getInFlight()).isZero();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 10, 0, 40))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimiter("test", 10, 20, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Fills the limit, then completes every admitted call with the given latency.
+     */
+    private static void fullRounds(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = acquireAll(limiter);
+            for (int i = 0; i < admitted; i++) {
+                limiter.onSuccess(rttNanos);
+            }
+        }
+    }
+
+    private static int acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,87 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import com.nexacloud.demoappinsights.exception.BaseAppInsightsException;
+import com.nexacloud.demoappinsights.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the fingerprinting and counting of {@link ExceptionDeduplicator}, closing the windows
+ * with {@link ExceptionDeduplicator#stop()} instead of waiting for the sweep.
+ *
+ * @author Priyonuj Dey
+ */
+class ExceptionDeduplicatorTest {
+
+    private final TelemetryPipeline telemetryPipeline = mock(TelemetryPipeline.class);
+    private final ExceptionDeduplicator deduplicator = new ExceptionDeduplicator(telemetryPipeline, 60_000);
+
+    private static final class StacklessException extends BaseAppInsightsException {
+        private StacklessException(String message) {
+            super(message, HttpStatus.BAD_REQUEST, false);
+        }
+    }
+
+    @Test
+    void stacklessExceptionsAreFingerprintedByTheirOperation() {
+        StacklessException first = new StacklessException("Value 42 is invalid");
+        StacklessException second = new StacklessException("Value 7 is invalid");
+
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(ExceptionDeduplicator.fingerprint(first, Map.of("operation", "CreateProduct")))
+                .isEqualTo(ExceptionDeduplicator.fingerprint(second, Map.of("operation", "CreateProduct")))
+                .isNotEqualTo(ExceptionDeduplicator.fingerprint(second, Map.of("operation", "UpdateProduct")))
+                .endsWith("|Value # is invalid|CreateProduct");
+        assertThat(ExceptionDeduplicator.fingerprint(first, Map.of("endpoint", "POST /api/products")))
+                .endsWith("|POST /api/products");
+    }
+
+    @Test
+    void exceptionsWithAStackTraceAreFingerprintedByTheirTopFrame() {
+        IllegalStateException exception = new IllegalStateException("Pool exhausted after 30 s");
+
+        assertThat(ExceptionDeduplicator.fingerprint(exception, Map.of("operation", "GetProduct")))
+                .isEqualTo(IllegalStateException.class.getName() + "|Pool exhausted after # s|"
+                        + getClass().getName() + ".exceptionsWithAStackTraceAreFingerprintedByTheirTopFrame");
+    }
+
+    @Test
+    void repeatsWithinTheWindowAreSentAsOneCountedItem() {
+        Map<String, String> properties = Map.of("operation", "GetProduct");
+        for (int id = 1; id <= 5; id++) {
+            deduplicator.track(new ResourceNotFoundException("Product", String.valueOf(id)), properties);
+        }
+        deduplicator.track(new ResourceNotFoundException("Category", "1"), properties);
+
+        verify(telemetryPipeline, times(2)).publish(any());
+        assertThat(deduplicator.openWindows()).isEqualTo(2);
+
+        deduplicator.stop();
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline, times(3)).publish(events.capture());
+        TelemetryEvent counted = events.getAllValues().get(2);
+        assertThat(counted.samplingWeight()).isEqualTo(4.0);
+        assertThat(counted.properties()).containsEntry("duplicateCount", "4").containsEntry("operation", "GetProduct");
+        assertThat(deduplicator.openWindows()).isZero();
+    }
+
+    @Test
+    void disabledWindowSendsEveryException() {
+        ExceptionDeduplicator disabled = new ExceptionDeduplicator(telemetryPipeline, 0);
+
+        disabled.track(new ResourceNotFoundException("Product", "1"), Map.of());
+        disabled.track(new ResourceNotFoundException("Product", "1"), Map.of());
+
+        verify(telemetryPipeline, times(2)).publish(any());
+    }
+}
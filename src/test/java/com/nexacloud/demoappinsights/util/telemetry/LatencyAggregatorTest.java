@@ -0,0 +1,85 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the interval handling of {@link LatencyAggregator}, calling {@link LatencyAggregator#flush()}
+ * directly instead of starting the scheduler.
+ *
+ * @author Priyonuj Dey
+ */
+class LatencyAggregatorTest {
+
+    private final TelemetryPipeline telemetryPipeline = mock(TelemetryPipeline.class);
+    private final LatencyAggregator aggregator = new LatencyAggregator(telemetryPipeline, 60_000, 2);
+
+    @Test
+    void flushPublishesOneAggregatePerName() {
+        aggregator.record("GetProduct", 10);
+        aggregator.record("GetProduct", 20);
+        aggregator.record("ListProducts", 5);
+
+        aggregator.flush();
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline, times(2)).publish(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(TelemetryEvent::name)
+                .containsExactlyInAnyOrder("GetProduct", "ListProducts");
+        TelemetryEvent getProduct = events.getAllValues().stream()
+                .filter(event -> event.name().equals("GetProduct"))
+                .findFirst().orElseThrow();
+        assertThat(getProduct.aggregate().count()).isEqualTo(2);
+        assertThat(getProduct.aggregate().sumMs()).isEqualTo(30.0);
+    }
+
+    @Test
+    void eachIntervalStartsFromZero() {
+        aggregator.record("GetProduct", 10);
+        aggregator.record("GetProduct", 20);
+        aggregator.flush();
+        aggregator.record("GetProduct", 100);
+
+        aggregator.flush();
+
+        ArgumentCaptor<TelemetryEvent> events = ArgumentCaptor.forClass(TelemetryEvent.class);
+        verify(telemetryPipeline, times(2)).publish(events.capture());
+        assertThat(events.getAllValues().get(1).aggregate().count()).isEqualTo(1);
+        assertThat(events.getAllValues().get(1).aggregate().sumMs()).isEqualTo(100.0);
+
+        LatencyAggregator.LatencyReport report = aggregator.report("GetProduct");
+        assertThat(report.lastInterval().count()).isEqualTo(1);
+        assertThat(report.lastInterval().mean()).isEqualTo(100.0);
+        assertThat(report.sinceStart().count()).isEqualTo(3);
+        assertThat(report.sinceStart().mean()).isEqualTo(130.0 / 3);
+    }
+
+    @Test
+    void emptyIntervalPublishesNothingAndClearsTheLastInterval() {
+        aggregator.record("GetProduct", 10);
+        aggregator.flush();
+
+        aggregator.flush();
+
+        verify(telemetryPipeline, times(1)).publish(any());
+        LatencyAggregator.LatencyReport report = aggregator.report("GetProduct");
+        assertThat(report.lastInterval().count()).isZero();
+        assertThat(report.sinceStart().count()).isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsPublishedBeforeAnythingIsRecorded() {
+        aggregator.flush();
+
+        verify(telemetryPipeline, never()).publish(any());
+        assertThat(aggregator.report()).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the bucket layout of {@link LatencyHistogram} and the accuracy of the percentiles read
+ * from its snapshots.
+ *
+ * @author Priyonuj Dey
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void valuesBelowTheSubBucketCountGetABucketEach() {
+        assertThat(LatencyHistogram.indexOf(0)).isZero();
+        assertThat(LatencyHistogram.indexOf(127)).isEqualTo(127);
+        assertThat(LatencyHistogram.indexOf(128)).isEqualTo(128);
+        assertThat(LatencyHistogram.indexOf(129)).isEqualTo(128);
+        assertThat(LatencyHistogram.indexOf(130)).isEqualTo(129);
+        assertThat(LatencyHistogram.lowestValueAt(128)).isEqualTo(128);
+        assertThat(LatencyHistogram.highestValueAt(128)).isEqualTo(129);
+    }
+
+    @Test
+    void maximumValueFallsInTheLastBucket() {
+        int last = LatencyHistogram.BUCKET_COUNT - 1;
+
+        assertThat(LatencyHistogram.indexOf(LatencyHistogram.MAX_VALUE_MICROS)).isEqualTo(last);
+        assertThat(LatencyHistogram.highestValueAt(last)).isEqualTo(LatencyHistogram.MAX_VALUE_MICROS);
+        assertThat(LatencyHistogram.lowestValueAt(last)).isLessThanOrEqualTo(LatencyHistogram.MAX_VALUE_MICROS);
+    }
+
+    @Test
+    void bucketsAreContiguousAndBoundTheRelativeError() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long lowest = LatencyHistogram.lowestValueAt(i);
+            long highest = LatencyHistogram.highestValueAt(i);
+            assertThat(LatencyHistogram.indexOf(lowest)).isEqualTo(i);
+            assertThat(LatencyHistogram.indexOf(highest)).isEqualTo(i);
+            if (i > 0) {
+                assertThat(LatencyHistogram.highestValueAt(i - 1)).isEqualTo(lowest - 1);
+            }
+            if (lowest > 0) {
+                assertThat((double) (highest - lowest) / lowest).isLessThan(1.0 / 64 + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram(1);
+        histogram.recordMillis(-5);
+        histogram.recordMillis(10_000_000);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.min()).isZero();
+        assertThat(snapshot.max()).isEqualTo(LatencyHistogram.MAX_VALUE_MICROS / 1000.0);
+        assertThat(snapshot.sumMs()).isEqualTo(LatencyHistogram.MAX_VALUE_MICROS / 1000.0);
+    }
+
+    @Test
+    void percentilesAreWithinTheRelativeErrorBoundOfTheExactValues() {
+        int n = 100_000;
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (int micros = 1; micros <= n; micros++) {
+            histogram.recordMillis(micros / 1000.0);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(n);
+        for (double percentile : new double[] {1, 10, 50, 75, 90, 95, 99, 99.9, 100}) {
+            double exactMs = Math.ceil(percentile / 100 * n) / 1000.0;
+            assertThat(snapshot.percentile(percentile)).as("p%s", percentile)
+                    .isBetween(exactMs, exactMs * (1 + 1.0 / 64));
+        }
+        assertThat(snapshot.percentile(50)).isCloseTo(50.0, within(0.5));
+        assertThat(snapshot.percentile(99)).isCloseTo(99.0, within(0.99));
+        assertThat(snapshot.mean()).isCloseTo((n + 1) / 2000.0, within(1e-6));
+    }
+
+    @Test
+    void differenceOfTwoSnapshotsCoversOnlyTheValuesInBetween() {
+        LatencyHistogram histogram = new LatencyHistogram(2);
+        histogram.recordMillis(1);
+        histogram.recordMillis(2);
+        HistogramSnapshot earlier = histogram.snapshot();
+        histogram.recordMillis(50);
+
+        HistogramSnapshot interval = histogram.snapshot().minus(earlier);
+
+        assertThat(interval.count()).isEqualTo(1);
+        assertThat(interval.min()).isCloseTo(50, within(0.5));
+        assertThat(interval.sumMs()).isCloseTo(50, within(1e-9));
+    }
+}
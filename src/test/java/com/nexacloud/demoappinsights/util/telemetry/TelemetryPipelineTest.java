@@ -0,0 +1,106 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import com.microsoft.applicationinsights.TelemetryClient;
+import com.microsoft.applicationinsights.telemetry.EventTelemetry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the overflow policies of {@link TelemetryPipeline}.
+ *
+ * <p>
+ * Events are published before the flusher is started, so the buffer fills up deterministically;
+ * {@link TelemetryPipeline#stop()} then drains whatever was kept.
+ * </p>
+ *
+ * @author Priyonuj Dey
+ */
+class TelemetryPipelineTest {
+
+    private static final int CAPACITY = 4;
+
+    private final TelemetryClient telemetryClient = mock(TelemetryClient.class);
+
+    @Test
+    void dropOldestEvictsTheOldestEventsToKeepTheNewest() throws Exception {
+        TelemetryPipeline pipeline = pipeline(OverflowPolicy.DROP_OLDEST, 0);
+
+        List<Boolean> accepted = publish(pipeline, 6);
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(accepted).containsOnly(true);
+        assertThat(pipeline.getDroppedCount()).isEqualTo(2);
+        assertThat(sentEvents()).containsExactly("event-2", "event-3", "event-4", "event-5");
+    }
+
+    @Test
+    void dropNewestRejectsEventsPublishedWhileFull() throws Exception {
+        TelemetryPipeline pipeline = pipeline(OverflowPolicy.DROP_NEWEST, 0);
+
+        List<Boolean> accepted = publish(pipeline, 6);
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(accepted).containsExactly(true, true, true, true, false, false);
+        assertThat(pipeline.getDroppedCount()).isEqualTo(2);
+        assertThat(sentEvents()).containsExactly("event-0", "event-1", "event-2", "event-3");
+    }
+
+    @Test
+    void blockDropsTheEventWhenNoSlotFreesUpInTime() throws Exception {
+        TelemetryPipeline pipeline = pipeline(OverflowPolicy.BLOCK, 20);
+
+        publish(pipeline, CAPACITY);
+        long startNanos = System.nanoTime();
+        boolean accepted = pipeline.publish(event(CAPACITY));
+        long waitedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        pipeline.start();
+        pipeline.stop();
+
+        assertThat(accepted).isFalse();
+        assertThat(waitedMs).isGreaterThanOrEqualTo(20);
+        assertThat(pipeline.getDroppedCount()).isEqualTo(1);
+        assertThat(sentEvents()).containsExactly("event-0", "event-1", "event-2", "event-3");
+    }
+
+    @Test
+    void blockWaitsForTheFlusherInsteadOfDropping() throws Exception {
+        TelemetryPipeline pipeline = pipeline(OverflowPolicy.BLOCK, 5_000);
+        pipeline.start();
+
+        List<Boolean> accepted = publish(pipeline, 200);
+        pipeline.stop();
+
+        assertThat(accepted).containsOnly(true);
+        assertThat(pipeline.getDroppedCount()).isZero();
+        assertThat(pipeline.getFlushedCount()).isEqualTo(200);
+        assertThat(sentEvents()).containsExactlyElementsOf(IntStream.range(0, 200).mapToObj(i -> "event-" + i).toList());
+    }
+
+    private TelemetryPipeline pipeline(OverflowPolicy overflowPolicy, long blockTimeoutMs) {
+        return new TelemetryPipeline(telemetryClient, CAPACITY, 2, 1, overflowPolicy, blockTimeoutMs);
+    }
+
+    private static List<Boolean> publish(TelemetryPipeline pipeline, int count) {
+        return IntStream.range(0, count).mapToObj(i -> pipeline.publish(event(i))).toList();
+    }
+
+    private static TelemetryEvent event(int i) {
+        return TelemetryEvent.event("event-" + i, null, 1.0, null);
+    }
+
+    private List<String> sentEvents() {
+        ArgumentCaptor<EventTelemetry> events = ArgumentCaptor.forClass(EventTelemetry.class);
+        verify(telemetryClient, atLeast(0)).trackEvent(events.capture());
+        return events.getAllValues().stream().map(EventTelemetry::getName).toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the capacity, ordering and concurrency guarantees of {@link TelemetryRingBuffer}.
+ *
+ * @author Priyonuj Dey
+ */
+class TelemetryRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new TelemetryRingBuffer<>(2).capacity()).isEqualTo(2);
+        assertThat(new TelemetryRingBuffer<>(3).capacity()).isEqualTo(4);
+        assertThat(new TelemetryRingBuffer<>(4).capacity()).isEqualTo(4);
+        assertThat(new TelemetryRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new TelemetryRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void elementsComeOutInOrderAcrossManyWraparounds() {
+        TelemetryRingBuffer<Integer> buffer = new TelemetryRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+
+        // Fill the buffer, then alternate between taking out three and putting in three, so the
+        // head and tail pass the end of the slot array over and over
+        for (int round = 0; round < 100; round++) {
+            while (buffer.offer(next)) {
+                next++;
+            }
+            assertThat(buffer.size()).isEqualTo(4);
+            for (int i = 0; i < 3; i++) {
+                assertThat(buffer.poll()).isEqualTo(expected++);
+            }
+            assertThat(buffer.size()).isEqualTo(1);
+        }
+        while (expected < next) {
+            assertThat(buffer.poll()).isEqualTo(expected++);
+        }
+
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void fullBufferRejectsOffersUntilAnElementIsTaken() {
+        TelemetryRingBuffer<String> buffer = new TelemetryRingBuffer<>(2);
+
+        assertThat(buffer.offer("a")).isTrue();
+        assertThat(buffer.offer("b")).isTrue();
+        assertThat(buffer.offer("c")).isFalse();
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.offer("c")).isTrue();
+        assertThat(buffer.poll()).isEqualTo("b");
+        assertThat(buffer.poll()).isEqualTo("c");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducersAndConsumersNeitherLoseNorDuplicateElements() throws Exception {
+        int producers = 3;
+        int consumers = 3;
+        int perProducer = 20_000;
+        int total = producers * perProducer;
+        TelemetryRingBuffer<Integer> buffer = new TelemetryRingBuffer<>(64);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicLong consumed = new AtomicLong();
+        ExecutorService threads = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                futures.add(threads.submit(() -> {
+                    for (int i = first; i < first + perProducer; i++) {
+                        while (!buffer.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                }));
+            }
+            for (int c = 0; c < consumers; c++) {
+                futures.add(threads.submit(() -> {
+                    // Each producer's elements must reach any one consumer in the order they were offered
+                    int[] lastByProducer = new int[producers];
+                    Arrays.fill(lastByProducer, -1);
+                    while (consumed.get() < total) {
+                        Integer element = buffer.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        seen.incrementAndGet(element);
+                        consumed.incrementAndGet();
+                        int producer = element / perProducer;
+                        assertThat(element).isGreaterThan(lastByProducer[producer]);
+                        lastByProducer[producer] = element;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(consumed.get()).isEqualTo(total);
+        for (int i = 0; i < total; i++) {
+            assertThat(seen.get(i)).as("times element %d was consumed", i).isEqualTo(1);
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+}
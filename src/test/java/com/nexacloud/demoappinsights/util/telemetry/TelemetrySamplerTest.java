@@ -0,0 +1,132 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests the budget allocation and weights of {@link TelemetrySampler}, on a fake clock and a seeded
+ * random source so every run makes the same decisions.
+ *
+ * @author Priyonuj Dey
+ */
+class TelemetrySamplerTest {
+
+    private static final long INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Random random = new Random(42);
+    private final TelemetrySampler sampler = new TelemetrySampler(
+            new MockEnvironment().withProperty("telemetry.sampling.event-rates.Fixed", "0.5"),
+            true, 100, 1000, 1000, Set.of("Audit"), nanos::get, random::nextDouble);
+
+    @Test
+    void budgetIsWaterFilledFromTheQuietestEventUp() {
+        // Over one second: Fixed uses 40 * 0.5 = 20 of the 100 events, leaving 80 for the others
+        produce("Rare", 10);
+        produce("Medium", 30);
+        produce("Busy", 1_000);
+        produce("Fixed", 40);
+
+        adjust();
+
+        Map<String, Double> probabilities = probabilities();
+        // Shares of the 80: Rare 80/3 > 10 and Medium 70/2 > 30 are kept whole, Busy gets the remaining 40
+        assertThat(probabilities.get("Rare")).isEqualTo(1.0);
+        assertThat(probabilities.get("Medium")).isEqualTo(1.0);
+        assertThat(probabilities.get("Busy")).isCloseTo(40.0 / 1_000, within(1e-9));
+        assertThat(probabilities.get("Fixed")).isEqualTo(0.5);
+    }
+
+    @Test
+    void summedWeightsEstimateTheNumberOfEvents() {
+        produce("Rare", 10);
+        produce("Busy", 1_000);
+        adjust();
+        assertThat(probabilities().get("Busy")).isCloseTo(90.0 / 1_000, within(1e-9));
+
+        int events = 200_000;
+        double weights = 0;
+        int kept = 0;
+        for (int i = 0; i < events; i++) {
+            double weight = sampler.sample("Busy", 1);
+            if (weight != TelemetrySampler.DROP) {
+                assertThat(weight).isCloseTo(1_000.0 / 90, within(1e-9));
+                weights += weight;
+                kept++;
+            }
+        }
+
+        assertThat(kept).isLessThan(events / 10);
+        // The standard deviation of the estimate is sqrt(events * (1 / p - 1)), about 0.7% here
+        assertThat(weights).isCloseTo(events, within(events * 0.03));
+    }
+
+    @Test
+    void slowAndAlwaysKeptEventsAreNeverSampledOut() {
+        produce("Busy", 1_000);
+        produce("Audit", 1_000);
+        adjust();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(sampler.sample("Busy", 1_000)).isEqualTo(1);
+            assertThat(sampler.sample("Audit", 1)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void budgetChangedAtRuntimeAppliesFromTheNextAdjustment() {
+        produce("Busy", 1_000);
+        adjust();
+        assertThat(probabilities().get("Busy")).isCloseTo(0.1, within(1e-9));
+
+        sampler.configure(null, 2_000.0, null);
+        produce("Busy", 999);
+        adjust();
+
+        assertThat(probabilities().get("Busy")).isEqualTo(1.0);
+        assertThat(sampler.state().targetEventsPerSecond()).isEqualTo(2_000.0);
+        assertThatThrownBy(() -> sampler.configure(null, 0.0, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void disabledSamplerKeepsEverything() {
+        produce("Busy", 1_000);
+        adjust();
+        sampler.configure(false, null, null);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(sampler.sample("Busy", 1)).isEqualTo(1);
+        }
+    }
+
+    private void produce(String eventName, int count) {
+        for (int i = 0; i < count; i++) {
+            sampler.sample(eventName, 1);
+        }
+    }
+
+    /**
+     * Moves the clock to the end of the interval; the next sample runs the adjustment, and is itself
+     * counted in the following interval.
+     */
+    private void adjust() {
+        nanos.addAndGet(INTERVAL_NANOS);
+        sampler.sample("Tick", 1);
+    }
+
+    private Map<String, Double> probabilities() {
+        return sampler.state().events().stream().collect(Collectors.toMap(
+                TelemetrySampler.EventSamplingState::name, TelemetrySampler.EventSamplingState::probability));
+    }
+}
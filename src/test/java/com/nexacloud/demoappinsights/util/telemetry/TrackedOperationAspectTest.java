@@ -0,0 +1,100 @@
+package com.nexacloud.demoappinsights.util.telemetry;
+
+import com.nexacloud.demoappinsights.util.TelemetryUtil;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the events sent by {@link TrackedOperationAspect} and the properties that switch it off.
+ *
+ * @author Priyonuj Dey
+ */
+class TrackedOperationAspectTest {
+
+    private final TelemetryUtil telemetryUtil = mock(TelemetryUtil.class);
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(TelemetryUtil.class, () -> telemetryUtil)
+            .withUserConfiguration(TrackedOperationAspect.class);
+
+    static class Catalog {
+
+        @TrackedOperation(value = "ItemsFetched", arguments = {"category", "limit"})
+        public List<String> fetch(String category, int limit) {
+            return List.of("first", "second");
+        }
+
+        @TrackedOperation(value = "ItemDeleted", arguments = "id")
+        public void delete(Long id) {
+            throw new IllegalStateException("Item is locked");
+        }
+    }
+
+    @Test
+    void successfulCallSendsOneEventWithTheArgumentsAndResultCount() {
+        proxy().fetch("books", 10);
+
+        ArgumentCaptor<Map<String, String>> properties = properties();
+        verify(telemetryUtil).trackDuration(eq("ItemsFetched"), properties.capture(), anyDouble(), eq(2.0));
+        assertThat(properties.getValue()).containsOnly(entry("operation", "fetch"), entry("category", "books"),
+                entry("limit", "10"), entry("success", "true"));
+    }
+
+    @Test
+    void failedCallSendsTheEventAndTheExceptionWithTheFailureType() {
+        Catalog catalog = proxy();
+
+        assertThatThrownBy(() -> catalog.delete(7L)).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<Map<String, String>> properties = properties();
+        verify(telemetryUtil).trackDuration(eq("ItemDeleted"), properties.capture(), anyDouble(), isNull());
+        assertThat(properties.getValue()).containsOnly(entry("operation", "delete"), entry("id", "7"),
+                entry("success", "false"), entry("failure", "IllegalStateException"));
+        verify(telemetryUtil).trackException(any(IllegalStateException.class),
+                same(properties.getValue()));
+    }
+
+    @Test
+    void aspectIsRegisteredByDefault() {
+        contextRunner.run(context -> assertThat(context).hasSingleBean(TrackedOperationAspect.class));
+    }
+
+    @Test
+    void aspectIsRegisteredWhenApplicationInsightsIsDisabled() {
+        contextRunner.withPropertyValues("azure.application-insights.enabled=false")
+                .run(context -> assertThat(context).hasSingleBean(TrackedOperationAspect.class));
+    }
+
+    @Test
+    void aspectIsNotRegisteredWhenOperationTelemetryIsDisabled() {
+        contextRunner.withPropertyValues("telemetry.operations.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(TrackedOperationAspect.class));
+    }
+
+    private Catalog proxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Catalog());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TrackedOperationAspect(telemetryUtil));
+        return factory.getProxy();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Map<String, String>> properties() {
+        return ArgumentCaptor.forClass(Map.class);
+    }
+}